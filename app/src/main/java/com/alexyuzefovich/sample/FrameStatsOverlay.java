@@ -0,0 +1,186 @@
+package com.alexyuzefovich.sample;
+
+import android.os.Build;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.FrameMetrics;
+import android.view.ViewTreeObserver;
+import android.view.Window;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.util.Locale;
+
+/**
+ * Once a second prints frame timings (from {@link Window.OnFrameMetricsAvailableListener},
+ * API 24+), allocated bytes (API 23+) and layout passes of the window into a TextView.
+ */
+class FrameStatsOverlay {
+
+    private static final long UPDATE_INTERVAL = 1000L;
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    /**
+     * Frames slower than this miss a 60 Hz vsync.
+     */
+    private static final long JANK_THRESHOLD_NANOS = 16_666_667L;
+
+    @NonNull
+    private final Window window;
+
+    @NonNull
+    private final TextView statsView;
+
+    @NonNull
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private HandlerThread metricsThread;
+
+    private Object frameMetricsListener;
+
+    private final Object frameStatsLock = new Object();
+
+    private int frameCount;
+    private int jankyFrameCount;
+    private long totalFrameDurationNanos;
+    private long maxFrameDurationNanos;
+
+    private int layoutPassCount;
+
+    private long lastAllocatedBytes;
+    private long lastUpdateTime;
+
+    private final ViewTreeObserver.OnGlobalLayoutListener layoutListener = () -> layoutPassCount++;
+
+    private final Runnable updateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            update();
+            mainHandler.postDelayed(this, UPDATE_INTERVAL);
+        }
+    };
+
+
+    FrameStatsOverlay(@NonNull Window window, @NonNull TextView statsView) {
+        this.window = window;
+        this.statsView = statsView;
+    }
+
+
+    void start() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            startFrameMetrics();
+        }
+        window.getDecorView().getViewTreeObserver().addOnGlobalLayoutListener(layoutListener);
+        lastAllocatedBytes = getAllocatedBytes();
+        lastUpdateTime = SystemClock.uptimeMillis();
+        mainHandler.postDelayed(updateRunnable, UPDATE_INTERVAL);
+    }
+
+    void stop() {
+        mainHandler.removeCallbacks(updateRunnable);
+        window.getDecorView().getViewTreeObserver().removeOnGlobalLayoutListener(layoutListener);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            stopFrameMetrics();
+        }
+    }
+
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void startFrameMetrics() {
+        metricsThread = new HandlerThread("FrameStatsOverlay");
+        metricsThread.start();
+        final Window.OnFrameMetricsAvailableListener listener =
+                (w, frameMetrics, dropCountSinceLastInvocation) ->
+                        onFrameMetrics(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION));
+        window.addOnFrameMetricsAvailableListener(listener, new Handler(metricsThread.getLooper()));
+        frameMetricsListener = listener;
+    }
+
+    @RequiresApi(Build.VERSION_CODES.N)
+    private void stopFrameMetrics() {
+        if (frameMetricsListener != null) {
+            window.removeOnFrameMetricsAvailableListener(
+                    (Window.OnFrameMetricsAvailableListener) frameMetricsListener
+            );
+            frameMetricsListener = null;
+        }
+        if (metricsThread != null) {
+            metricsThread.quitSafely();
+            metricsThread = null;
+        }
+    }
+
+    private void onFrameMetrics(long frameDurationNanos) {
+        synchronized (frameStatsLock) {
+            frameCount++;
+            totalFrameDurationNanos += frameDurationNanos;
+            maxFrameDurationNanos = Math.max(maxFrameDurationNanos, frameDurationNanos);
+            if (frameDurationNanos > JANK_THRESHOLD_NANOS) {
+                jankyFrameCount++;
+            }
+        }
+    }
+
+    private void update() {
+        final long now = SystemClock.uptimeMillis();
+        final float seconds = Math.max(1L, now - lastUpdateTime) / 1000f;
+        lastUpdateTime = now;
+
+        final int frames;
+        final int jankyFrames;
+        final float averageFrameMs;
+        final float maxFrameMs;
+        synchronized (frameStatsLock) {
+            frames = frameCount;
+            jankyFrames = jankyFrameCount;
+            averageFrameMs = frameCount > 0
+                    ? (float) totalFrameDurationNanos / frameCount / NANOS_PER_MS
+                    : 0f;
+            maxFrameMs = (float) maxFrameDurationNanos / NANOS_PER_MS;
+            frameCount = 0;
+            jankyFrameCount = 0;
+            totalFrameDurationNanos = 0L;
+            maxFrameDurationNanos = 0L;
+        }
+
+        final long allocatedBytes = getAllocatedBytes();
+        final String allocations = allocatedBytes >= 0
+                ? String.format(Locale.US, "%.1f KB/s", (allocatedBytes - lastAllocatedBytes) / 1024f / seconds)
+                : "n/a";
+        lastAllocatedBytes = allocatedBytes;
+
+        final String frameStats = Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                ? String.format(Locale.US, "frames %.0f/s  avg %.1f ms  max %.1f ms  janky %d",
+                        frames / seconds, averageFrameMs, maxFrameMs, jankyFrames)
+                : "frame metrics n/a";
+        statsView.setText(String.format(Locale.US, "%s\nalloc %s  layouts %.0f/s",
+                frameStats, allocations, layoutPassCount / seconds));
+        layoutPassCount = 0;
+    }
+
+    /**
+     * @return bytes allocated by the process so far, or -1 if the runtime doesn't report it
+     */
+    private static long getAllocatedBytes() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return -1L;
+        }
+        final String bytesAllocated = Debug.getRuntimeStat("art.gc.bytes-allocated");
+        if (bytesAllocated == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(bytesAllocated);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+}
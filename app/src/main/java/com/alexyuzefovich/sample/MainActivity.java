@@ -2,13 +2,17 @@ package com.alexyuzefovich.sample;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
 
 import com.alexyuzefovich.loadon.Loadon;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+
     private boolean b = false;
 
     @Override
@@ -25,6 +29,12 @@ public class MainActivity extends AppCompatActivity {
                 b = false;
             }
         });
+        loadon.setOnTransitionLatencyListener((view, state, latencyMillis) ->
+                Log.d(TAG, "Transition visible (" + state + ") in " + latencyMillis + " ms")
+        );
+        findViewById(R.id.stress_test).setOnClickListener(v ->
+                startActivity(new Intent(this, StressActivity.class))
+        );
     }
 
 }
\ No newline at end of file
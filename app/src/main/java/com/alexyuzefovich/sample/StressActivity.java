@@ -0,0 +1,77 @@
+package com.alexyuzefovich.sample;
+
+import android.os.Bundle;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.SimpleItemAnimator;
+
+import com.alexyuzefovich.loadon.Loadon;
+
+/**
+ * Reproducible workload for comparing library versions: a list of 1000 Loadons with
+ * controls to load all of them, change all texts and fling, plus a frame stats overlay.
+ */
+public class StressActivity extends AppCompatActivity {
+
+    private static final int ITEM_COUNT = 1000;
+
+    private static final long SEED = 42L;
+
+    private static final int FLING_VELOCITY = 20000;
+
+    private FrameStatsOverlay frameStatsOverlay;
+
+    private int flingDirection = 1;
+
+    private boolean isDebugOverlayEnabled;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress);
+
+        final StressAdapter adapter = new StressAdapter(ITEM_COUNT, SEED);
+        final RecyclerView recyclerView = findViewById(R.id.recycler_view);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(adapter);
+        // Loadons animate their own changes, a crossfade would only add work
+        final RecyclerView.ItemAnimator itemAnimator = recyclerView.getItemAnimator();
+        if (itemAnimator instanceof SimpleItemAnimator) {
+            ((SimpleItemAnimator) itemAnimator).setSupportsChangeAnimations(false);
+        }
+
+        findViewById(R.id.start_all).setOnClickListener(v -> adapter.startAll());
+        findViewById(R.id.stop_all).setOnClickListener(v -> adapter.stopAll());
+        findViewById(R.id.randomize_text).setOnClickListener(v -> adapter.randomizeTexts());
+        findViewById(R.id.fling).setOnClickListener(v -> {
+            recyclerView.fling(0, flingDirection * FLING_VELOCITY);
+            flingDirection = -flingDirection;
+        });
+        findViewById(R.id.debug_overlay).setOnClickListener(v -> {
+            isDebugOverlayEnabled = !isDebugOverlayEnabled;
+            Loadon.setDebugOverlayEnabled(isDebugOverlayEnabled);
+            for (int i = 0; i < recyclerView.getChildCount(); i++) {
+                recyclerView.getChildAt(i).findViewById(R.id.loadon).invalidate();
+            }
+        });
+
+        final TextView statsView = findViewById(R.id.frame_stats);
+        frameStatsOverlay = new FrameStatsOverlay(getWindow(), statsView);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        frameStatsOverlay.start();
+    }
+
+    @Override
+    protected void onPause() {
+        frameStatsOverlay.stop();
+        super.onPause();
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.alexyuzefovich.sample;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.alexyuzefovich.loadon.Loadon;
+import com.alexyuzefovich.loadon.core.LoadonState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fixed list of Loadons for the stress screen. Item texts come from a seeded {@link Random}
+ * and stop outcomes from item positions, so every run (and every library version) gets
+ * the same workload. Changes are bound with payloads, so Loadons animate in place instead
+ * of being crossfaded by the item animator.
+ */
+class StressAdapter extends RecyclerView.Adapter<StressAdapter.LoadonViewHolder> {
+
+    private static final String[] WORDS = {
+            "Load", "Send", "Sync", "Upload", "Download", "Refresh", "Save", "Submit", "Retry", "Go"
+    };
+
+    private static final Object PAYLOAD_TEXT = new Object();
+
+    private static final Object PAYLOAD_STATE = new Object();
+
+    @NonNull
+    private final String[] texts;
+
+    /**
+     * State each item should end up in: NORMAL, LOADING, SUCCEED or FAILED.
+     */
+    @NonNull
+    private final LoadonState[] itemStates;
+
+    @NonNull
+    private final Random random;
+
+
+    StressAdapter(int itemCount, long seed) {
+        texts = new String[itemCount];
+        itemStates = new LoadonState[itemCount];
+        Arrays.fill(itemStates, LoadonState.NORMAL);
+        random = new Random(seed);
+        randomizeTexts();
+    }
+
+
+    @NonNull
+    @Override
+    public LoadonViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        final View itemView = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_stress_loadon, parent, false);
+        return new LoadonViewHolder(itemView);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LoadonViewHolder holder, int position) {
+        final Loadon loadon = holder.loadon;
+        loadon.setText(texts[position]);
+        // Recycled views keep the state of their previous item, so sync it with this one
+        syncState(loadon, itemStates[position]);
+        loadon.setOnClickListener(v -> {
+            final int adapterPosition = holder.getAdapterPosition();
+            if (adapterPosition != RecyclerView.NO_POSITION) {
+                toggle(adapterPosition);
+            }
+        });
+    }
+
+    @Override
+    public void onBindViewHolder(
+            @NonNull LoadonViewHolder holder,
+            int position,
+            @NonNull List<Object> payloads
+    ) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        if (payloads.contains(PAYLOAD_TEXT)) {
+            holder.loadon.setText(texts[position]);
+        }
+        if (payloads.contains(PAYLOAD_STATE)) {
+            syncState(holder.loadon, itemStates[position]);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return texts.length;
+    }
+
+
+    void startAll() {
+        Arrays.fill(itemStates, LoadonState.LOADING);
+        notifyItemRangeChanged(0, itemStates.length, PAYLOAD_STATE);
+    }
+
+    /**
+     * Stops all loading items through the real stop path, each with its own outcome.
+     */
+    void stopAll() {
+        for (int i = 0; i < itemStates.length; i++) {
+            if (itemStates[i] == LoadonState.LOADING) {
+                itemStates[i] = getOutcome(i);
+            }
+        }
+        notifyItemRangeChanged(0, itemStates.length, PAYLOAD_STATE);
+    }
+
+    void randomizeTexts() {
+        for (int i = 0; i < texts.length; i++) {
+            final int wordCount = 1 + random.nextInt(3);
+            final StringBuilder text = new StringBuilder();
+            for (int j = 0; j < wordCount; j++) {
+                if (j > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            texts[i] = text.toString();
+        }
+        notifyItemRangeChanged(0, texts.length, PAYLOAD_TEXT);
+    }
+
+
+    private void toggle(int position) {
+        itemStates[position] = itemStates[position] == LoadonState.LOADING
+                ? getOutcome(position)
+                : LoadonState.LOADING;
+        notifyItemChanged(position, PAYLOAD_STATE);
+    }
+
+    /**
+     * Every third item fails, the rest succeed.
+     */
+    @NonNull
+    private static LoadonState getOutcome(int position) {
+        return position % 3 == 0 ? LoadonState.FAILED : LoadonState.SUCCEED;
+    }
+
+    /**
+     * Drives the Loadon to the state with the same calls a screen would make. Outcomes are
+     * reached through loading, as the state machine requires.
+     */
+    private static void syncState(@NonNull Loadon loadon, @NonNull LoadonState itemState) {
+        final LoadonState state = loadon.getLoadonDrawable().getLoadonState();
+        if (state == itemState) {
+            return;
+        }
+        if (itemState == LoadonState.NORMAL) {
+            loadon.reset();
+            return;
+        }
+        if (state != LoadonState.LOADING && state != LoadonState.COLLAPSING) {
+            loadon.startLoading();
+        }
+        if (itemState != LoadonState.LOADING) {
+            loadon.stopLoading(itemState == LoadonState.SUCCEED);
+        }
+    }
+
+
+    static class LoadonViewHolder extends RecyclerView.ViewHolder {
+
+        @NonNull
+        final Loadon loadon;
+
+        LoadonViewHolder(@NonNull View itemView) {
+            super(itemView);
+            loadon = itemView.findViewById(R.id.loadon);
+        }
+
+    }
+
+}
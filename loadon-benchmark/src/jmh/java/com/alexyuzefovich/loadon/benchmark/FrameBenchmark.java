@@ -0,0 +1,133 @@
+package com.alexyuzefovich.loadon.benchmark;
+
+import com.alexyuzefovich.loadon.core.ArcGeometry;
+import com.alexyuzefovich.loadon.core.Bounds;
+import com.alexyuzefovich.loadon.core.CollapseGeometry;
+import com.alexyuzefovich.loadon.core.LoadonState;
+import com.alexyuzefovich.loadon.core.LoadonStateMachine;
+import com.alexyuzefovich.loadon.core.ManualFrameClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame computation cost of Loadon. Each benchmark invocation is one frame;
+ * run with the gc profiler to see allocations per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBenchmark {
+
+    private static final int COLLAPSED_WIDTH = 120;
+    private static final int EXPANDED_WIDTH = 640;
+
+    private static final float STROKE_SIZE = 10f;
+
+    /**
+     * One 500 ms size animation at 60 fps.
+     */
+    private static final int FRAMES_PER_TRANSITION = 30;
+
+    private final Bounds drawingRect = new Bounds();
+
+    private final CollapseGeometry.Frame collapseFrame = new CollapseGeometry.Frame();
+
+    private final ArcGeometry.Frame arcFrame = new ArcGeometry.Frame();
+
+    private final ManualFrameClock frameClock = new ManualFrameClock();
+
+    private final LoadonStateMachine stateMachine = new LoadonStateMachine(frameClock);
+
+    private int frame;
+
+    private float animatedValue;
+
+
+    @Setup
+    public void setUp() {
+        drawingRect.set(8f, 8f, 112f, 112f);
+        stateMachine.setWidths(COLLAPSED_WIDTH, EXPANDED_WIDTH);
+        stateMachine.setListener(new LoadonStateMachine.Listener() {
+            @Override
+            public void onStateChanged(LoadonState from, LoadonState to) { }
+
+            @Override
+            public boolean onFrame(LoadonStateMachine stateMachine) {
+                final LoadonState state = stateMachine.getState();
+                if (state == LoadonState.LOADING) {
+                    final float value = ArcGeometry.getAnimatedValue(stateMachine.getStateTime(), 8000L);
+                    ArcGeometry.compute(drawingRect, STROKE_SIZE, value, arcFrame);
+                    return true;
+                }
+                if (state == LoadonState.COLLAPSING || state == LoadonState.EXTENDING) {
+                    CollapseGeometry.compute(
+                            stateMachine.getAnimatedWidth(),
+                            COLLAPSED_WIDTH,
+                            EXPANDED_WIDTH,
+                            48f,
+                            255,
+                            collapseFrame
+                    );
+                }
+                return false;
+            }
+        });
+    }
+
+
+    @Benchmark
+    public void collapseFrame(Blackhole blackhole) {
+        frame = (frame + 1) % FRAMES_PER_TRANSITION;
+        final int width = EXPANDED_WIDTH - (EXPANDED_WIDTH - COLLAPSED_WIDTH) * frame / FRAMES_PER_TRANSITION;
+        CollapseGeometry.compute(width, COLLAPSED_WIDTH, EXPANDED_WIDTH, 48f, 255, collapseFrame);
+        blackhole.consume(collapseFrame.textSize);
+        blackhole.consume(collapseFrame.textAlpha);
+    }
+
+    @Benchmark
+    public void indicatorFrame(Blackhole blackhole) {
+        animatedValue += 1f / 60f;
+        if (animatedValue > ArcGeometry.END_ANIMATION_VALUE) {
+            animatedValue = ArcGeometry.START_ANIMATION_VALUE;
+        }
+        ArcGeometry.compute(drawingRect, STROKE_SIZE, animatedValue, arcFrame);
+        blackhole.consume(arcFrame.rotationAngle);
+        blackhole.consume(arcFrame.sweepAngle);
+    }
+
+    /**
+     * Whole collapse, 1 s of loading, success and extend cycle at 60 fps, stepped by a
+     * manual clock. One invocation is one cycle of about 80 frames.
+     */
+    @Benchmark
+    public int fullCycle() {
+        int frames = 0;
+        stateMachine.start();
+        frames += frameClock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 1500L);
+        stateMachine.stop(true);
+        frames += frameClock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 100L);
+        stateMachine.reset();
+        frames += frameClock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 1000L);
+        return frames;
+    }
+
+    @Benchmark
+    public LoadonState loadingCycle() {
+        LoadonState state = LoadonState.NORMAL;
+        state = state.next(LoadonState.Event.START);
+        state = state.next(LoadonState.Event.COLLAPSED);
+        state = state.next(LoadonState.Event.SUCCESS);
+        state = state.next(LoadonState.Event.RESET);
+        return state.next(LoadonState.Event.EXTENDED);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Geometry of the default progress indicator arc. The arc grows from {@link #MIN_ARC_ANGLE}
+ * to {@link #MIN_ARC_ANGLE} + {@link #FULL_ARC_ANGLE} and shrinks back every 2 units of the
+ * animated value, while the whole arc rotates.
+ */
+public final class ArcGeometry {
+
+    public static final float MIN_ARC_ANGLE = 30f;
+    public static final float FULL_ARC_ANGLE = 270f;
+
+    public static final float START_ANIMATION_VALUE = 0f;
+    public static final float END_ANIMATION_VALUE = 8f;
+
+    /**
+     * Arc to draw for one animated value, filled by {@link #compute}. An indicator keeps
+     * one instance and refills it on every frame.
+     */
+    public static final class Frame {
+
+        /**
+         * Rotation of the whole arc around the oval center, degrees.
+         */
+        public float rotationAngle;
+
+        public float startAngle;
+
+        public float sweepAngle;
+
+        /**
+         * Oval the arc is drawn on.
+         */
+        public final Bounds oval = new Bounds();
+
+    }
+
+
+    private ArcGeometry() { }
+
+
+    /**
+     * @return animated value of an endless linear animation from {@link #START_ANIMATION_VALUE}
+     * to {@link #END_ANIMATION_VALUE}, {@code time} ms after it started
+     */
+    public static float getAnimatedValue(long time, long duration) {
+        final float fraction = (float) (Math.max(0L, time) % duration) / duration;
+        return START_ANIMATION_VALUE + (END_ANIMATION_VALUE - START_ANIMATION_VALUE) * fraction;
+    }
+
+    /**
+     * @param drawingRect rect available to the indicator
+     * @param strokeSize arc stroke width, the oval is inset by it
+     * @param animatedValue value in [{@link #START_ANIMATION_VALUE}, {@link #END_ANIMATION_VALUE}]
+     */
+    public static void compute(Bounds drawingRect, float strokeSize, float animatedValue, Frame out) {
+        out.oval.set(drawingRect.left, drawingRect.top, drawingRect.right, drawingRect.bottom);
+        out.oval.inset(strokeSize, strokeSize);
+
+        final int iteration = (int) animatedValue / 2;
+        final float animValue = animatedValue - iteration * 2f;
+
+        out.rotationAngle = -90f * iteration + 360f * animValue;
+        out.startAngle = animValue <= 1f
+                ? 0f
+                : FULL_ARC_ANGLE * (animValue - 1f);
+        out.sweepAngle = animValue <= 1f
+                ? FULL_ARC_ANGLE * animValue + MIN_ARC_ANGLE
+                : FULL_ARC_ANGLE * (2f - animValue) + MIN_ARC_ANGLE;
+    }
+
+}
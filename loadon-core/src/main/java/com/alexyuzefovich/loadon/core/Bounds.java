@@ -0,0 +1,44 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Mutable float rectangle, the platform-free counterpart of {@code RectF}.
+ */
+public final class Bounds {
+
+    public float left;
+    public float top;
+    public float right;
+    public float bottom;
+
+
+    public void set(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public void inset(float dx, float dy) {
+        left += dx;
+        top += dy;
+        right -= dx;
+        bottom -= dy;
+    }
+
+    public float width() {
+        return right - left;
+    }
+
+    public float height() {
+        return bottom - top;
+    }
+
+    public float centerX() {
+        return (left + right) / 2f;
+    }
+
+    public float centerY() {
+        return (top + bottom) / 2f;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Label scaling while Loadon collapses into (or extends from) the loading circle.
+ */
+public final class CollapseGeometry {
+
+    /**
+     * Label size and opacity for one animated width, filled by {@link #compute}. The caller
+     * owns the instance, typically one per drawable.
+     */
+    public static final class Frame {
+
+        /**
+         * 1 when fully extended, 0 when fully collapsed.
+         */
+        public float sizeMultiplier;
+
+        public int textAlpha;
+
+        public float textSize;
+
+    }
+
+
+    private CollapseGeometry() { }
+
+
+    public static float getSizeMultiplier(int width, int collapsedWidth, int expandedWidth) {
+        if (expandedWidth == collapsedWidth) {
+            return 1f;
+        }
+        return ((float) width - collapsedWidth) / (expandedWidth - collapsedWidth);
+    }
+
+    /**
+     * Corner radius morphing from {@code startRadius} in the expanded state to a full circle
+     * (half of the smaller side) in the collapsed state.
+     *
+     * @param collapseProgress 0 when expanded, 1 when collapsed
+     */
+    public static float getCornerRadius(float startRadius, float width, float height, float collapseProgress) {
+        final float fullRadius = Math.min(width, height) / 2f;
+        return startRadius + (fullRadius - startRadius) * collapseProgress;
+    }
+
+    public static void compute(
+            int width,
+            int collapsedWidth,
+            int expandedWidth,
+            float textSize,
+            int alpha,
+            Frame out
+    ) {
+        final float sizeMultiplier = getSizeMultiplier(width, collapsedWidth, expandedWidth);
+        out.sizeMultiplier = sizeMultiplier;
+        out.textAlpha = (int) (sizeMultiplier * 255) * alpha / 255;
+        out.textSize = sizeMultiplier * textSize;
+    }
+
+}
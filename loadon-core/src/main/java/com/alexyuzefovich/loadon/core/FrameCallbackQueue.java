@@ -0,0 +1,61 @@
+package com.alexyuzefovich.loadon.core;
+
+import java.util.ArrayList;
+
+/**
+ * Callbacks waiting for the next frame of a {@link FrameClock}, for clock implementations.
+ * Callbacks posted while a frame is dispatched run on the next frame, and callbacks removed
+ * during a frame are not called later in it. The two backing lists are swapped on every
+ * frame, so callbacks re-posting themselves cause no allocations.
+ */
+public final class FrameCallbackQueue {
+
+    private ArrayList<FrameClock.FrameCallback> callbacks = new ArrayList<>();
+
+    private ArrayList<FrameClock.FrameCallback> dispatchingCallbacks = new ArrayList<>();
+
+
+    /**
+     * Adding an already queued callback does nothing.
+     */
+    public void add(FrameClock.FrameCallback callback) {
+        if (!callbacks.contains(callback)) {
+            callbacks.add(callback);
+        }
+    }
+
+    public void remove(FrameClock.FrameCallback callback) {
+        callbacks.remove(callback);
+        final int dispatchingIndex = dispatchingCallbacks.indexOf(callback);
+        if (dispatchingIndex >= 0) {
+            dispatchingCallbacks.set(dispatchingIndex, null);
+        }
+    }
+
+    /**
+     * @return whether no callbacks wait for the next frame
+     */
+    public boolean isEmpty() {
+        return callbacks.isEmpty();
+    }
+
+    /**
+     * Runs and dequeues all callbacks queued before this call.
+     */
+    public void dispatch(long frameTimeMillis) {
+        final ArrayList<FrameClock.FrameCallback> frameCallbacks = callbacks;
+        callbacks = dispatchingCallbacks;
+        dispatchingCallbacks = frameCallbacks;
+        try {
+            for (int i = 0; i < frameCallbacks.size(); i++) {
+                final FrameClock.FrameCallback callback = frameCallbacks.get(i);
+                if (callback != null) {
+                    callback.doFrame(frameTimeMillis);
+                }
+            }
+        } finally {
+            frameCallbacks.clear();
+        }
+    }
+
+}
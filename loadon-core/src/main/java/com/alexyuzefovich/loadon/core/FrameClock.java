@@ -0,0 +1,28 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Source of time and frames for Loadon animations. On a device it's backed by the
+ * display vsync; tests and offline tools use {@link ManualFrameClock} to step frames
+ * with arbitrary timestamps.
+ */
+public interface FrameClock {
+
+    interface FrameCallback {
+        void doFrame(long frameTimeMillis);
+    }
+
+
+    /**
+     * @return current time in milliseconds. Inside a frame it's the time of that frame.
+     */
+    long now();
+
+    /**
+     * Requests a one-shot callback on the next frame. Posting an already posted callback
+     * does nothing.
+     */
+    void postFrameCallback(FrameCallback callback);
+
+    void removeFrameCallback(FrameCallback callback);
+
+}
@@ -0,0 +1,30 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Platform-free counterparts of the Android interpolators used by Loadon.
+ */
+public final class Interpolation {
+
+    private Interpolation() { }
+
+
+    /**
+     * Same curve as {@code AccelerateDecelerateInterpolator}. Symmetric, i.e.
+     * f(1 - x) = 1 - f(x), so animations using it can be reversed at any point.
+     */
+    public static float accelerateDecelerate(float input) {
+        return (float) (Math.cos((input + 1) * Math.PI) / 2.0) + 0.5f;
+    }
+
+    /**
+     * Same curve as {@code DecelerateInterpolator} with the default factor.
+     */
+    public static float decelerate(float input) {
+        return 1f - (1f - input) * (1f - input);
+    }
+
+    public static float clampFraction(float fraction) {
+        return Math.max(0f, Math.min(1f, fraction));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * States of a Loadon together with the table of transitions between them.
+ */
+public enum LoadonState {
+    NORMAL,
+    COLLAPSING,
+    LOADING,
+    EXTENDING,
+    SUCCEED,
+    FAILED;
+
+    public enum Event {
+        START,
+        COLLAPSED,
+        SUCCESS,
+        FAILURE,
+        RESET,
+        EXTENDED;
+
+        public boolean isOutcome() {
+            return this == SUCCESS || this == FAILURE;
+        }
+    }
+
+    /**
+     * Transition table: TRANSITIONS[state][event] is the state entered when the event
+     * arrives in the state, or null if the event is ignored (or deferred) there.
+     */
+    private static final LoadonState[][] TRANSITIONS = {
+            //               START       COLLAPSED  SUCCESS  FAILURE  RESET      EXTENDED
+            /* NORMAL     */ {COLLAPSING, null,      null,    null,    null,      null},
+            /* COLLAPSING */ {null,       LOADING,   null,    null,    EXTENDING, null},
+            /* LOADING    */ {null,       null,      SUCCEED, FAILED,  EXTENDING, null},
+            /* EXTENDING  */ {COLLAPSING, null,      null,    null,    null,      NORMAL},
+            /* SUCCEED    */ {LOADING,    null,      null,    null,    EXTENDING, null},
+            /* FAILED     */ {LOADING,    null,      null,    null,    EXTENDING, null}
+    };
+
+    public boolean isIndicationState() {
+        return this == LOADING || this == SUCCEED || this == FAILED;
+    }
+
+    /**
+     * @return state entered when the event arrives in this state, or null if it's ignored
+     */
+    public LoadonState next(Event event) {
+        return TRANSITIONS[ordinal()][event.ordinal()];
+    }
+
+}
@@ -0,0 +1,354 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * Time-driven Loadon state machine. Runs the transitions of {@link LoadonState} and the
+ * collapse/extend size animation on frames of a {@link FrameClock}, so the same code
+ * runs on a device (vsync) and on a plain JVM ({@link ManualFrameClock}).
+ * <p>
+ * The size animation is kept as a linear collapse fraction (0 is expanded, 1 is collapsed)
+ * plus a direction. Reversing only flips the direction, so an interrupted transition
+ * continues from where it is.
+ */
+public final class LoadonStateMachine implements FrameClock.FrameCallback {
+
+    public interface Listener {
+
+        void onStateChanged(LoadonState from, LoadonState to);
+
+        /**
+         * Called on every frame while the machine animates, after the state and width were
+         * updated for the frame.
+         *
+         * @return whether the listener still animates something, so more frames are needed
+         */
+        boolean onFrame(LoadonStateMachine stateMachine);
+
+    }
+
+
+    public static final long DEFAULT_SIZE_ANIMATION_DURATION = 500L;
+
+    private FrameClock frameClock;
+
+    private Listener listener;
+
+    private LoadonState state = LoadonState.NORMAL;
+
+    /**
+     * Outcome requested while still collapsing. It's dispatched as soon as the collapse ends.
+     */
+    private LoadonState.Event pendingOutcome;
+
+    private long sizeAnimationDuration = DEFAULT_SIZE_ANIMATION_DURATION;
+
+    private long sizeAnimationStartOffset;
+
+    private int collapsedWidth;
+    private int expandedWidth;
+
+    private float collapseFractionAtStart;
+    private long sizeAnimationStartTime;
+    private float collapseFraction;
+
+    private long stateStartTime;
+
+    private long frameTime;
+
+    /**
+     * Whether the machine needs another frame.
+     */
+    private boolean isFrameRequested;
+
+    /**
+     * Whether a frame callback is actually posted to the clock.
+     */
+    private boolean isFramePosted;
+
+    private boolean isFramesEnabled = true;
+
+    private boolean isInFrame;
+
+
+    public LoadonStateMachine(FrameClock frameClock) {
+        this.frameClock = frameClock;
+        frameTime = frameClock.now();
+    }
+
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void setFrameClock(FrameClock frameClock) {
+        if (this.frameClock == frameClock) {
+            return;
+        }
+        cancelPostedFrame();
+        // Keep animations where they are, in terms of play time, on the new clock
+        final long now = frameClock.now();
+        sizeAnimationStartTime += now - frameTime;
+        stateStartTime += now - frameTime;
+        frameTime = now;
+        this.frameClock = frameClock;
+        if (isFrameRequested) {
+            postFrame();
+        }
+    }
+
+    /**
+     * While disabled, frame requests are remembered but nothing is posted to the clock.
+     * Lets hosts hold off frames until they are attached (the default clock is bound to
+     * the main thread), and stop them while detached.
+     */
+    public void setFramesEnabled(boolean isFramesEnabled) {
+        if (this.isFramesEnabled == isFramesEnabled) {
+            return;
+        }
+        this.isFramesEnabled = isFramesEnabled;
+        if (isFramesEnabled) {
+            if (isFrameRequested) {
+                postFrame();
+            }
+        } else {
+            cancelPostedFrame();
+        }
+    }
+
+    public FrameClock getFrameClock() {
+        return frameClock;
+    }
+
+    public void setSizeAnimationDuration(long sizeAnimationDuration) {
+        this.sizeAnimationDuration = sizeAnimationDuration;
+    }
+
+    /**
+     * Size animations starting from rest skip their first {@code sizeAnimationStartOffset} ms,
+     * where the eased width barely moves, so the first frame applied at the call already
+     * shows a visible step. A running animation being reversed is never offset. 0 by default.
+     */
+    public void setSizeAnimationStartOffset(long sizeAnimationStartOffset) {
+        this.sizeAnimationStartOffset = sizeAnimationStartOffset;
+    }
+
+    /**
+     * Sets the widths the size animation runs between. They are read on every frame,
+     * so a host can update them while animating.
+     */
+    public void setWidths(int collapsedWidth, int expandedWidth) {
+        this.collapsedWidth = collapsedWidth;
+        this.expandedWidth = expandedWidth;
+    }
+
+
+    public void start() {
+        dispatch(LoadonState.Event.START);
+    }
+
+    public void stop(boolean isSuccessful) {
+        dispatch(isSuccessful ? LoadonState.Event.SUCCESS : LoadonState.Event.FAILURE);
+    }
+
+    public void reset() {
+        pendingOutcome = null;
+        dispatch(LoadonState.Event.RESET);
+    }
+
+    public void dispatch(LoadonState.Event event) {
+        final LoadonState nextState = state.next(event);
+        if (nextState == null) {
+            if (state == LoadonState.COLLAPSING && event.isOutcome()) {
+                // Chain the outcome after the collapse instead of racing it
+                pendingOutcome = event;
+            }
+            return;
+        }
+        final LoadonState previousState = state;
+        state = nextState;
+        final long now = frameClock.now();
+        stateStartTime = now;
+        onTransition(previousState, nextState);
+        if (!isInFrame) {
+            // Apply the first frame of the transition right away instead of on the next
+            // clock frame, so the host's next traversal already draws the new state
+            runFrame(now);
+        }
+    }
+
+
+    public LoadonState getState() {
+        return state;
+    }
+
+    /**
+     * @return time in ms since the current state was entered, as of the last frame
+     */
+    public long getStateTime() {
+        return Math.max(0L, frameTime - stateStartTime);
+    }
+
+    /**
+     * @return 0 when expanded, 1 when collapsed, eased with the size animation curve
+     */
+    public float getCollapseProgress() {
+        return Interpolation.accelerateDecelerate(collapseFraction);
+    }
+
+    public int getAnimatedWidth() {
+        return (int) (expandedWidth + (collapsedWidth - expandedWidth) * getCollapseProgress());
+    }
+
+    /**
+     * @return play time of the running size animation, counted in its current direction
+     */
+    public long getSizeAnimationPlayTime() {
+        final float fraction = state == LoadonState.EXTENDING ? 1f - collapseFraction : collapseFraction;
+        return (long) (fraction * sizeAnimationDuration);
+    }
+
+    public boolean isAnimating() {
+        return isFrameRequested;
+    }
+
+    /**
+     * @return whether a frame is being dispatched, including transitions and listener
+     * calls made from it
+     */
+    public boolean isInFrame() {
+        return isInFrame;
+    }
+
+    /**
+     * Puts the machine into a previously saved state without running transitions.
+     */
+    public void restore(LoadonState state, long sizeAnimationPlayTime, long stateTime) {
+        this.state = state;
+        pendingOutcome = null;
+        final long now = frameClock.now();
+        frameTime = now;
+        stateStartTime = now - stateTime;
+        final float playFraction = Interpolation.clampFraction((float) sizeAnimationPlayTime / sizeAnimationDuration);
+        switch (state) {
+            case NORMAL: {
+                collapseFraction = 0f;
+                break;
+            }
+            case COLLAPSING: {
+                startSizeAnimation(playFraction, now);
+                break;
+            }
+            case EXTENDING: {
+                startSizeAnimation(1f - playFraction, now);
+                break;
+            }
+            default: {
+                collapseFraction = 1f;
+            }
+        }
+        postFrame();
+    }
+
+
+    @Override
+    public void doFrame(long frameTimeMillis) {
+        isFramePosted = false;
+        isFrameRequested = false;
+        if (runFrame(frameTimeMillis) || state == LoadonState.COLLAPSING || state == LoadonState.EXTENDING) {
+            postFrame();
+        }
+    }
+
+
+    private void onTransition(LoadonState from, LoadonState to) {
+        switch (to) {
+            case COLLAPSING:
+            case EXTENDING: {
+                // Coming from the opposite direction this simply reverses the running animation
+                final boolean isFromRest = collapseFraction == (to == LoadonState.COLLAPSING ? 0f : 1f);
+                startSizeAnimation(
+                        collapseFraction,
+                        frameClock.now() - (isFromRest ? sizeAnimationStartOffset : 0L)
+                );
+                break;
+            }
+            case LOADING: {
+                collapseFraction = 1f;
+                break;
+            }
+            case NORMAL: {
+                collapseFraction = 0f;
+                break;
+            }
+        }
+
+        if (listener != null) {
+            listener.onStateChanged(from, to);
+        }
+
+        if (to == LoadonState.LOADING) {
+            final LoadonState.Event outcome = pendingOutcome;
+            pendingOutcome = null;
+            if (outcome != null) {
+                dispatch(outcome);
+            }
+        }
+        postFrame();
+    }
+
+    /**
+     * Updates the size animation and the listener for the given time.
+     *
+     * @return whether the listener still animates
+     */
+    private boolean runFrame(long frameTimeMillis) {
+        frameTime = Math.max(frameTime, frameTimeMillis);
+        isInFrame = true;
+        try {
+            if (state == LoadonState.COLLAPSING || state == LoadonState.EXTENDING) {
+                updateCollapseFraction(frameTime);
+            }
+            return listener != null && listener.onFrame(this);
+        } finally {
+            isInFrame = false;
+        }
+    }
+
+    private void startSizeAnimation(float fromCollapseFraction, long startTime) {
+        collapseFraction = fromCollapseFraction;
+        collapseFractionAtStart = fromCollapseFraction;
+        sizeAnimationStartTime = startTime;
+    }
+
+    private void updateCollapseFraction(long time) {
+        final float elapsedFraction = sizeAnimationDuration > 0
+                ? (float) (time - sizeAnimationStartTime) / sizeAnimationDuration
+                : 1f;
+        if (state == LoadonState.COLLAPSING) {
+            collapseFraction = Interpolation.clampFraction(collapseFractionAtStart + elapsedFraction);
+            if (collapseFraction >= 1f) {
+                dispatch(LoadonState.Event.COLLAPSED);
+            }
+        } else {
+            collapseFraction = Interpolation.clampFraction(collapseFractionAtStart - elapsedFraction);
+            if (collapseFraction <= 0f) {
+                dispatch(LoadonState.Event.EXTENDED);
+            }
+        }
+    }
+
+    private void postFrame() {
+        isFrameRequested = true;
+        if (isFramesEnabled && !isFramePosted) {
+            isFramePosted = true;
+            frameClock.postFrameCallback(this);
+        }
+    }
+
+    private void cancelPostedFrame() {
+        if (isFramePosted) {
+            isFramePosted = false;
+            frameClock.removeFrameCallback(this);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.alexyuzefovich.loadon.core;
+
+/**
+ * {@link FrameClock} which produces frames only when told to. Lets tests and tools
+ * render and profile whole Loadon animations without waiting for real time.
+ */
+public final class ManualFrameClock implements FrameClock {
+
+    public static final long DEFAULT_FRAME_INTERVAL = 16L;
+
+    private long frameTime;
+
+    private final FrameCallbackQueue callbacks = new FrameCallbackQueue();
+
+
+    public ManualFrameClock() {
+        this(0L);
+    }
+
+    public ManualFrameClock(long startTime) {
+        frameTime = startTime;
+    }
+
+
+    @Override
+    public long now() {
+        return frameTime;
+    }
+
+    @Override
+    public void postFrameCallback(FrameCallback callback) {
+        callbacks.add(callback);
+    }
+
+    @Override
+    public void removeFrameCallback(FrameCallback callback) {
+        callbacks.remove(callback);
+    }
+
+    public boolean hasPendingFrames() {
+        return !callbacks.isEmpty();
+    }
+
+    /**
+     * Moves time to {@code time} and runs a frame there. Callbacks posted during the frame
+     * are run on the next one.
+     */
+    public void advanceTo(long time) {
+        if (time < frameTime) {
+            throw new IllegalArgumentException("Time can't go back: " + time + " < " + frameTime);
+        }
+        frameTime = time;
+        callbacks.dispatch(time);
+    }
+
+    public void advanceBy(long delta) {
+        advanceTo(frameTime + delta);
+    }
+
+    /**
+     * Runs one frame {@link #DEFAULT_FRAME_INTERVAL} ms after the current one.
+     */
+    public void step() {
+        advanceBy(DEFAULT_FRAME_INTERVAL);
+    }
+
+    /**
+     * Steps frames with the given interval until nobody requests frames anymore,
+     * but no longer than {@code maxDuration} ms.
+     *
+     * @return number of frames run
+     */
+    public int runUntilIdle(long frameInterval, long maxDuration) {
+        final long endTime = frameTime + maxDuration;
+        int frames = 0;
+        while (hasPendingFrames() && frameTime + frameInterval <= endTime) {
+            advanceBy(frameInterval);
+            frames++;
+        }
+        return frames;
+    }
+
+}
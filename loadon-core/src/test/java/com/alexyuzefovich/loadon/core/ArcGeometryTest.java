@@ -0,0 +1,83 @@
+package com.alexyuzefovich.loadon.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArcGeometryTest {
+
+    private static final float DELTA = 1e-3f;
+
+    private static final long DURATION = 8000L;
+
+    private final Bounds drawingRect = new Bounds();
+
+    private final ArcGeometry.Frame frame = new ArcGeometry.Frame();
+
+
+    @Test
+    public void animated_value_is_linear_and_wraps() {
+        assertEquals(ArcGeometry.START_ANIMATION_VALUE, ArcGeometry.getAnimatedValue(0L, DURATION), DELTA);
+        assertEquals(4f, ArcGeometry.getAnimatedValue(DURATION / 2, DURATION), DELTA);
+        assertEquals(ArcGeometry.START_ANIMATION_VALUE, ArcGeometry.getAnimatedValue(DURATION, DURATION), DELTA);
+        assertEquals(1f, ArcGeometry.getAnimatedValue(DURATION + DURATION / 8, DURATION), DELTA);
+    }
+
+    @Test
+    public void negative_time_is_start() {
+        assertEquals(ArcGeometry.START_ANIMATION_VALUE, ArcGeometry.getAnimatedValue(-100L, DURATION), DELTA);
+    }
+
+    @Test
+    public void oval_is_inset_by_stroke() {
+        compute(0f);
+
+        assertEquals(10f, frame.oval.left, DELTA);
+        assertEquals(10f, frame.oval.top, DELTA);
+        assertEquals(90f, frame.oval.right, DELTA);
+        assertEquals(90f, frame.oval.bottom, DELTA);
+    }
+
+    @Test
+    public void frame_at_start() {
+        compute(0f);
+
+        assertEquals(0f, frame.rotationAngle, DELTA);
+        assertEquals(0f, frame.startAngle, DELTA);
+        assertEquals(ArcGeometry.MIN_ARC_ANGLE, frame.sweepAngle, DELTA);
+    }
+
+    @Test
+    public void arc_is_longest_half_way_through_iteration() {
+        compute(1f);
+
+        assertEquals(360f, frame.rotationAngle, DELTA);
+        assertEquals(0f, frame.startAngle, DELTA);
+        assertEquals(ArcGeometry.FULL_ARC_ANGLE + ArcGeometry.MIN_ARC_ANGLE, frame.sweepAngle, DELTA);
+    }
+
+    @Test
+    public void arc_shrinks_from_its_start() {
+        compute(1.5f);
+
+        assertEquals(540f, frame.rotationAngle, DELTA);
+        assertEquals(135f, frame.startAngle, DELTA);
+        assertEquals(165f, frame.sweepAngle, DELTA);
+    }
+
+    @Test
+    public void next_iteration_starts_a_quarter_turn_back() {
+        compute(2f);
+
+        assertEquals(-90f, frame.rotationAngle, DELTA);
+        assertEquals(0f, frame.startAngle, DELTA);
+        assertEquals(ArcGeometry.MIN_ARC_ANGLE, frame.sweepAngle, DELTA);
+    }
+
+
+    private void compute(float animatedValue) {
+        drawingRect.set(0f, 0f, 100f, 100f);
+        ArcGeometry.compute(drawingRect, 10f, animatedValue, frame);
+    }
+
+}
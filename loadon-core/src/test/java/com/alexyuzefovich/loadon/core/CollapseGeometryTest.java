@@ -0,0 +1,60 @@
+package com.alexyuzefovich.loadon.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CollapseGeometryTest {
+
+    private static final float DELTA = 1e-4f;
+
+    private final CollapseGeometry.Frame frame = new CollapseGeometry.Frame();
+
+
+    @Test
+    public void frame_when_expanded() {
+        CollapseGeometry.compute(300, 100, 300, 20f, 255, frame);
+
+        assertEquals(1f, frame.sizeMultiplier, DELTA);
+        assertEquals(255, frame.textAlpha);
+        assertEquals(20f, frame.textSize, DELTA);
+    }
+
+    @Test
+    public void frame_half_way() {
+        CollapseGeometry.compute(200, 100, 300, 20f, 255, frame);
+
+        assertEquals(0.5f, frame.sizeMultiplier, DELTA);
+        assertEquals(127, frame.textAlpha);
+        assertEquals(10f, frame.textSize, DELTA);
+    }
+
+    @Test
+    public void frame_when_collapsed() {
+        CollapseGeometry.compute(100, 100, 300, 20f, 255, frame);
+
+        assertEquals(0f, frame.sizeMultiplier, DELTA);
+        assertEquals(0, frame.textAlpha);
+        assertEquals(0f, frame.textSize, DELTA);
+    }
+
+    @Test
+    public void text_alpha_follows_drawable_alpha() {
+        CollapseGeometry.compute(300, 100, 300, 20f, 128, frame);
+
+        assertEquals(128, frame.textAlpha);
+    }
+
+    @Test
+    public void equal_widths_keep_full_size() {
+        assertEquals(1f, CollapseGeometry.getSizeMultiplier(100, 100, 100), DELTA);
+    }
+
+    @Test
+    public void corner_radius_morphs_into_circle() {
+        assertEquals(10f, CollapseGeometry.getCornerRadius(10f, 100f, 40f, 0f), DELTA);
+        assertEquals(15f, CollapseGeometry.getCornerRadius(10f, 100f, 40f, 0.5f), DELTA);
+        assertEquals(20f, CollapseGeometry.getCornerRadius(10f, 100f, 40f, 1f), DELTA);
+    }
+
+}
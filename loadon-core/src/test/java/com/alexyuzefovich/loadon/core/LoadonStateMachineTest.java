@@ -0,0 +1,296 @@
+package com.alexyuzefovich.loadon.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadonStateMachineTest {
+
+    private static final int COLLAPSED_WIDTH = 100;
+    private static final int EXPANDED_WIDTH = 300;
+
+    private static final float DELTA = 1e-4f;
+
+    private final ManualFrameClock clock = new ManualFrameClock();
+
+    private final LoadonStateMachine stateMachine = new LoadonStateMachine(clock);
+
+    private final List<LoadonState> enteredStates = new ArrayList<>();
+
+    private int frameCount;
+
+    /**
+     * What the listener answers from onFrame, i.e. whether it still animates.
+     */
+    private boolean isListenerAnimating;
+
+
+    @Before
+    public void setUp() {
+        stateMachine.setWidths(COLLAPSED_WIDTH, EXPANDED_WIDTH);
+        stateMachine.setListener(new LoadonStateMachine.Listener() {
+            @Override
+            public void onStateChanged(LoadonState from, LoadonState to) {
+                enteredStates.add(to);
+            }
+
+            @Override
+            public boolean onFrame(LoadonStateMachine stateMachine) {
+                frameCount++;
+                return isListenerAnimating;
+            }
+        });
+    }
+
+
+    @Test
+    public void start_runs_first_frame_synchronously_and_posts_next() {
+        stateMachine.start();
+
+        assertEquals(LoadonState.COLLAPSING, stateMachine.getState());
+        assertEquals(1, frameCount);
+        assertTrue(stateMachine.isAnimating());
+        assertTrue(clock.hasPendingFrames());
+    }
+
+    @Test
+    public void collapse_ends_in_loading_after_duration() {
+        stateMachine.start();
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION - 1L);
+        assertEquals(LoadonState.COLLAPSING, stateMachine.getState());
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+        assertEquals(Arrays.asList(LoadonState.COLLAPSING, LoadonState.LOADING), enteredStates);
+        assertEquals(COLLAPSED_WIDTH, stateMachine.getAnimatedWidth());
+    }
+
+    @Test
+    public void frames_stop_once_nothing_animates() {
+        stateMachine.start();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 2000L);
+
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+        assertFalse(stateMachine.isAnimating());
+        assertFalse(clock.hasPendingFrames());
+
+        final int idleFrameCount = frameCount;
+        clock.advanceBy(1000L);
+        assertEquals(idleFrameCount, frameCount);
+    }
+
+    @Test
+    public void frames_continue_while_listener_animates() {
+        isListenerAnimating = true;
+        stateMachine.start();
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        final int loadingFrameCount = frameCount;
+
+        clock.step();
+        clock.step();
+
+        assertEquals(loadingFrameCount + 2, frameCount);
+        assertEquals(2 * ManualFrameClock.DEFAULT_FRAME_INTERVAL, stateMachine.getStateTime());
+        assertTrue(clock.hasPendingFrames());
+    }
+
+    @Test
+    public void disabled_frames_are_posted_when_enabled() {
+        stateMachine.setFramesEnabled(false);
+        stateMachine.start();
+        assertTrue(stateMachine.isAnimating());
+        assertFalse(clock.hasPendingFrames());
+
+        clock.advanceTo(200L);
+        stateMachine.setFramesEnabled(true);
+        assertTrue(clock.hasPendingFrames());
+
+        // Animation catches up with the time spent without frames
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+    }
+
+    @Test
+    public void switching_clocks_keeps_animation_play_time() {
+        stateMachine.start();
+        clock.advanceTo(200L);
+        final int width = stateMachine.getAnimatedWidth();
+
+        final ManualFrameClock otherClock = new ManualFrameClock(10_000L);
+        stateMachine.setFrameClock(otherClock);
+        assertFalse(clock.hasPendingFrames());
+        assertTrue(otherClock.hasPendingFrames());
+
+        otherClock.advanceTo(10_000L);
+        assertEquals(width, stateMachine.getAnimatedWidth());
+        otherClock.advanceTo(10_300L);
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+    }
+
+    @Test
+    public void width_at_start_half_way_and_end_of_collapse() {
+        stateMachine.start();
+        assertEquals(EXPANDED_WIDTH, stateMachine.getAnimatedWidth());
+        assertEquals(0f, stateMachine.getCollapseProgress(), DELTA);
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION / 2);
+        assertEquals((COLLAPSED_WIDTH + EXPANDED_WIDTH) / 2, stateMachine.getAnimatedWidth());
+        assertEquals(0.5f, stateMachine.getCollapseProgress(), DELTA);
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        assertEquals(COLLAPSED_WIDTH, stateMachine.getAnimatedWidth());
+        assertEquals(1f, stateMachine.getCollapseProgress(), DELTA);
+    }
+
+    @Test
+    public void start_offset_moves_width_on_first_frame() {
+        stateMachine.setSizeAnimationStartOffset(100L);
+        stateMachine.start();
+        final int firstFrameWidth = stateMachine.getAnimatedWidth();
+        assertTrue(firstFrameWidth < EXPANDED_WIDTH);
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION - 100L);
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+
+        stateMachine.reset();
+        assertTrue(stateMachine.getAnimatedWidth() > COLLAPSED_WIDTH);
+    }
+
+    @Test
+    public void start_offset_does_not_apply_to_reversal() {
+        stateMachine.setSizeAnimationStartOffset(100L);
+        stateMachine.start();
+        clock.advanceTo(200L);
+        final int widthBeforeReset = stateMachine.getAnimatedWidth();
+
+        stateMachine.reset();
+        assertEquals(widthBeforeReset, stateMachine.getAnimatedWidth());
+    }
+
+    @Test
+    public void reversal_continues_from_current_width() {
+        stateMachine.start();
+        clock.advanceTo(200L);
+        final int widthBeforeReset = stateMachine.getAnimatedWidth();
+        final long playTimeBeforeReset = stateMachine.getSizeAnimationPlayTime();
+
+        stateMachine.reset();
+
+        assertEquals(LoadonState.EXTENDING, stateMachine.getState());
+        assertEquals(widthBeforeReset, stateMachine.getAnimatedWidth());
+        assertEquals(
+                LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION - playTimeBeforeReset,
+                stateMachine.getSizeAnimationPlayTime()
+        );
+
+        clock.step();
+        assertTrue(stateMachine.getAnimatedWidth() > widthBeforeReset);
+
+        // Extending back takes as long as collapsing took so far
+        clock.advanceTo(399L);
+        assertEquals(LoadonState.EXTENDING, stateMachine.getState());
+        clock.advanceTo(400L);
+        assertEquals(LoadonState.NORMAL, stateMachine.getState());
+        assertEquals(EXPANDED_WIDTH, stateMachine.getAnimatedWidth());
+    }
+
+    @Test
+    public void success_during_collapse_chains_through_loading() {
+        stateMachine.start();
+        clock.advanceTo(100L);
+
+        stateMachine.stop(true);
+        assertEquals(LoadonState.COLLAPSING, stateMachine.getState());
+
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        assertEquals(
+                Arrays.asList(LoadonState.COLLAPSING, LoadonState.LOADING, LoadonState.SUCCEED),
+                enteredStates
+        );
+        assertEquals(0L, stateMachine.getStateTime());
+    }
+
+    @Test
+    public void failure_during_collapse_chains_through_loading() {
+        stateMachine.start();
+        clock.advanceTo(100L);
+
+        stateMachine.stop(false);
+        clock.advanceTo(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+
+        assertEquals(
+                Arrays.asList(LoadonState.COLLAPSING, LoadonState.LOADING, LoadonState.FAILED),
+                enteredStates
+        );
+    }
+
+    @Test
+    public void reset_drops_outcome_queued_during_collapse() {
+        stateMachine.start();
+        stateMachine.stop(true);
+        stateMachine.reset();
+        stateMachine.start();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 2000L);
+
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+    }
+
+    @Test
+    public void zero_duration_collapses_and_extends_immediately() {
+        stateMachine.setSizeAnimationDuration(0L);
+
+        stateMachine.start();
+        assertEquals(LoadonState.LOADING, stateMachine.getState());
+        assertEquals(COLLAPSED_WIDTH, stateMachine.getAnimatedWidth());
+
+        stateMachine.reset();
+        assertEquals(LoadonState.NORMAL, stateMachine.getState());
+        assertEquals(EXPANDED_WIDTH, stateMachine.getAnimatedWidth());
+        assertEquals(
+                Arrays.asList(LoadonState.COLLAPSING, LoadonState.LOADING, LoadonState.EXTENDING, LoadonState.NORMAL),
+                enteredStates
+        );
+    }
+
+    @Test
+    public void ignored_events_change_nothing() {
+        stateMachine.stop(true);
+        stateMachine.reset();
+
+        assertEquals(LoadonState.NORMAL, stateMachine.getState());
+        assertTrue(enteredStates.isEmpty());
+        assertFalse(clock.hasPendingFrames());
+    }
+
+    @Test
+    public void full_cycle_completes_on_frames() {
+        stateMachine.start();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 2000L);
+        stateMachine.stop(true);
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 2000L);
+        stateMachine.reset();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, 2000L);
+
+        assertEquals(
+                Arrays.asList(
+                        LoadonState.COLLAPSING,
+                        LoadonState.LOADING,
+                        LoadonState.SUCCEED,
+                        LoadonState.EXTENDING,
+                        LoadonState.NORMAL
+                ),
+                enteredStates
+        );
+        assertEquals(EXPANDED_WIDTH, stateMachine.getAnimatedWidth());
+        assertFalse(clock.hasPendingFrames());
+    }
+
+}
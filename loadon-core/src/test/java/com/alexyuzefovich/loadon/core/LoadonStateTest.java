@@ -0,0 +1,102 @@
+package com.alexyuzefovich.loadon.core;
+
+import org.junit.Test;
+
+import static com.alexyuzefovich.loadon.core.LoadonState.COLLAPSING;
+import static com.alexyuzefovich.loadon.core.LoadonState.EXTENDING;
+import static com.alexyuzefovich.loadon.core.LoadonState.FAILED;
+import static com.alexyuzefovich.loadon.core.LoadonState.LOADING;
+import static com.alexyuzefovich.loadon.core.LoadonState.NORMAL;
+import static com.alexyuzefovich.loadon.core.LoadonState.SUCCEED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LoadonStateTest {
+
+    @Test
+    public void start_collapses_normal() {
+        assertEquals(COLLAPSING, NORMAL.next(LoadonState.Event.START));
+    }
+
+    @Test
+    public void collapse_end_enters_loading() {
+        assertEquals(LOADING, COLLAPSING.next(LoadonState.Event.COLLAPSED));
+    }
+
+    @Test
+    public void outcomes_apply_only_while_loading() {
+        assertEquals(SUCCEED, LOADING.next(LoadonState.Event.SUCCESS));
+        assertEquals(FAILED, LOADING.next(LoadonState.Event.FAILURE));
+        for (LoadonState state : LoadonState.values()) {
+            if (state != LOADING) {
+                assertNull(state.toString(), state.next(LoadonState.Event.SUCCESS));
+                assertNull(state.toString(), state.next(LoadonState.Event.FAILURE));
+            }
+        }
+    }
+
+    @Test
+    public void start_restarts_loading_after_outcome() {
+        assertEquals(LOADING, SUCCEED.next(LoadonState.Event.START));
+        assertEquals(LOADING, FAILED.next(LoadonState.Event.START));
+    }
+
+    @Test
+    public void start_and_reset_reverse_size_animations() {
+        assertEquals(EXTENDING, COLLAPSING.next(LoadonState.Event.RESET));
+        assertEquals(COLLAPSING, EXTENDING.next(LoadonState.Event.START));
+    }
+
+    @Test
+    public void repeated_calls_are_ignored() {
+        assertNull(COLLAPSING.next(LoadonState.Event.START));
+        assertNull(LOADING.next(LoadonState.Event.START));
+        assertNull(NORMAL.next(LoadonState.Event.RESET));
+        assertNull(EXTENDING.next(LoadonState.Event.RESET));
+    }
+
+    @Test
+    public void size_animation_ends_are_ignored_outside_of_them() {
+        for (LoadonState state : LoadonState.values()) {
+            if (state != COLLAPSING) {
+                assertNull(state.toString(), state.next(LoadonState.Event.COLLAPSED));
+            }
+            if (state != EXTENDING) {
+                assertNull(state.toString(), state.next(LoadonState.Event.EXTENDED));
+            }
+        }
+    }
+
+    @Test
+    public void every_state_can_reach_normal() {
+        for (LoadonState state : LoadonState.values()) {
+            LoadonState current = state;
+            for (int i = 0; i < LoadonState.values().length && current != NORMAL; i++) {
+                final LoadonState afterReset = current.next(LoadonState.Event.RESET);
+                current = afterReset != null ? afterReset : current.next(LoadonState.Event.EXTENDED);
+            }
+            assertEquals(state.toString(), NORMAL, current);
+        }
+    }
+
+    @Test
+    public void indication_states() {
+        assertTrue(LOADING.isIndicationState());
+        assertTrue(SUCCEED.isIndicationState());
+        assertTrue(FAILED.isIndicationState());
+        assertFalse(NORMAL.isIndicationState());
+        assertFalse(COLLAPSING.isIndicationState());
+        assertFalse(EXTENDING.isIndicationState());
+    }
+
+    @Test
+    public void outcome_events() {
+        assertTrue(LoadonState.Event.SUCCESS.isOutcome());
+        assertTrue(LoadonState.Event.FAILURE.isOutcome());
+        assertFalse(LoadonState.Event.START.isOutcome());
+        assertFalse(LoadonState.Event.RESET.isOutcome());
+    }
+
+}
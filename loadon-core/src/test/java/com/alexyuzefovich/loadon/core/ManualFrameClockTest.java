@@ -0,0 +1,118 @@
+package com.alexyuzefovich.loadon.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ManualFrameClockTest {
+
+    private final ManualFrameClock clock = new ManualFrameClock(100L);
+
+    private final List<Long> frameTimes = new ArrayList<>();
+
+
+    @Test
+    public void posted_callback_runs_once_at_frame_time() {
+        clock.postFrameCallback(frameTimes::add);
+
+        clock.advanceTo(116L);
+        clock.advanceTo(132L);
+
+        assertEquals(1, frameTimes.size());
+        assertEquals(116L, (long) frameTimes.get(0));
+        assertEquals(132L, clock.now());
+    }
+
+    @Test
+    public void posting_twice_runs_callback_once() {
+        final FrameClock.FrameCallback callback = frameTimes::add;
+        clock.postFrameCallback(callback);
+        clock.postFrameCallback(callback);
+
+        clock.step();
+
+        assertEquals(1, frameTimes.size());
+    }
+
+    @Test
+    public void callback_posted_during_frame_runs_on_next_frame() {
+        clock.postFrameCallback(new FrameClock.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeMillis) {
+                frameTimes.add(frameTimeMillis);
+                if (frameTimes.size() < 3) {
+                    clock.postFrameCallback(this);
+                }
+            }
+        });
+
+        clock.step();
+        assertEquals(1, frameTimes.size());
+        assertTrue(clock.hasPendingFrames());
+
+        clock.step();
+        clock.step();
+        clock.step();
+
+        assertEquals(3, frameTimes.size());
+        assertEquals(116L, (long) frameTimes.get(0));
+        assertEquals(148L, (long) frameTimes.get(2));
+        assertFalse(clock.hasPendingFrames());
+    }
+
+    @Test
+    public void callback_removed_during_frame_is_not_called() {
+        final FrameClock.FrameCallback removed = frameTimes::add;
+        clock.postFrameCallback(frameTime -> clock.removeFrameCallback(removed));
+        clock.postFrameCallback(removed);
+
+        clock.step();
+
+        assertTrue(frameTimes.isEmpty());
+        assertFalse(clock.hasPendingFrames());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void time_cannot_go_back() {
+        clock.advanceTo(99L);
+    }
+
+    @Test
+    public void runUntilIdle_stops_when_no_frames_are_requested() {
+        clock.postFrameCallback(new FrameClock.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeMillis) {
+                frameTimes.add(frameTimeMillis);
+                if (frameTimeMillis < 150L) {
+                    clock.postFrameCallback(this);
+                }
+            }
+        });
+
+        final int frames = clock.runUntilIdle(10L, 1000L);
+
+        assertEquals(5, frames);
+        assertEquals(150L, clock.now());
+    }
+
+    @Test
+    public void runUntilIdle_stops_at_max_duration() {
+        clock.postFrameCallback(new FrameClock.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeMillis) {
+                clock.postFrameCallback(this);
+            }
+        });
+
+        final int frames = clock.runUntilIdle(16L, 100L);
+
+        assertEquals(6, frames);
+        assertTrue(clock.hasPendingFrames());
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.alexyuzefovich.loadon;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class LoadonDrawableTest {
+
+    private static final String LABEL = "Sign in with a rather long label";
+
+    private LoadonDrawable loadonDrawable;
+    private Canvas canvas;
+
+
+    @Before
+    public void setUp() {
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        loadonDrawable = new LoadonDrawable(context);
+        loadonDrawable.setText(LABEL);
+        canvas = new Canvas(Bitmap.createBitmap(2000, 500, Bitmap.Config.ARGB_8888));
+    }
+
+
+    @Test
+    public void draw_before_bounds_keeps_label_width() {
+        loadonDrawable.draw(canvas);
+        loadonDrawable.setBounds(0, 0, 2000, loadonDrawable.getDesiredHeight());
+        loadonDrawable.draw(canvas);
+
+        assertTrue(loadonDrawable.getExpandedWidth() > loadonDrawable.getCollapsedWidth());
+    }
+
+    @Test
+    public void expanded_width_follows_narrower_bounds() {
+        loadonDrawable.setBounds(0, 0, 2000, loadonDrawable.getDesiredHeight());
+        loadonDrawable.draw(canvas);
+        final int wideExpandedWidth = loadonDrawable.getExpandedWidth();
+
+        final int narrowWidth = wideExpandedWidth / 2;
+        loadonDrawable.setBounds(0, 0, narrowWidth, loadonDrawable.getDesiredHeight());
+        loadonDrawable.draw(canvas);
+
+        assertTrue(loadonDrawable.getExpandedWidth() <= narrowWidth);
+    }
+
+    @Test
+    public void expanded_width_recovers_on_wider_bounds() {
+        loadonDrawable.setBounds(0, 0, 2000, loadonDrawable.getDesiredHeight());
+        loadonDrawable.draw(canvas);
+        final int wideExpandedWidth = loadonDrawable.getExpandedWidth();
+
+        loadonDrawable.setBounds(0, 0, wideExpandedWidth / 2, loadonDrawable.getDesiredHeight());
+        loadonDrawable.setBounds(0, 0, 2000, loadonDrawable.getDesiredHeight());
+
+        assertEquals(wideExpandedWidth, loadonDrawable.getExpandedWidth());
+    }
+
+    @Test
+    public void same_bounds_width_keeps_layout() {
+        loadonDrawable.setBounds(0, 0, 2000, loadonDrawable.getDesiredHeight());
+        loadonDrawable.draw(canvas);
+        final int buildCount = loadonDrawable.getTextLayoutBuildCount();
+
+        loadonDrawable.setBounds(0, 10, 2000, 10 + loadonDrawable.getDesiredHeight());
+
+        assertEquals(buildCount, loadonDrawable.getTextLayoutBuildCount());
+    }
+
+}
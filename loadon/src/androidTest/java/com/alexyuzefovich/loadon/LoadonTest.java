@@ -0,0 +1,69 @@
+package com.alexyuzefovich.loadon;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.alexyuzefovich.loadon.core.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+@RunWith(AndroidJUnit4.class)
+public class LoadonTest {
+
+    private static final long MAX_ANIMATION_DURATION = 5000L;
+
+    private Loadon loadon;
+    private ManualFrameClock clock;
+
+
+    @Before
+    @UiThreadTest
+    public void setUp() {
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        loadon = new Loadon(context);
+        loadon.setText("Sign in");
+        clock = new ManualFrameClock();
+        loadon.setFrameClock(clock);
+    }
+
+
+    @Test
+    @UiThreadTest
+    public void user_background_survives_loading() {
+        final Drawable background = new ColorDrawable(Color.RED);
+        loadon.setBackground(background);
+        layout();
+
+        loadon.startLoading();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, MAX_ANIMATION_DURATION);
+        assertSame(background, loadon.getBackground());
+        assertFalse(loadon.getLoadonDrawable().isShapeFillEnabled());
+
+        loadon.stopLoading(true);
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, MAX_ANIMATION_DURATION);
+        loadon.reset();
+        clock.runUntilIdle(ManualFrameClock.DEFAULT_FRAME_INTERVAL, MAX_ANIMATION_DURATION);
+        assertSame(background, loadon.getBackground());
+        assertFalse(loadon.getLoadonDrawable().isShapeFillEnabled());
+    }
+
+
+    private void layout() {
+        final int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        loadon.measure(unspecified, unspecified);
+        loadon.layout(0, 0, loadon.getMeasuredWidth(), loadon.getMeasuredHeight());
+    }
+
+}
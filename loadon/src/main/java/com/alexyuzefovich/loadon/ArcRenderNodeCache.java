@@ -0,0 +1,109 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
+import android.graphics.RectF;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Keeps progress arcs pre-recorded in {@link RenderNode}s, one node per sweep bucket.
+ * Arcs are recorded once per indicator size (and paint), so every frame only picks
+ * the node matching the current sweep and updates its rotation property.
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+class ArcRenderNodeCache {
+
+    private static final float SWEEP_BUCKET_SIZE = 2f;
+
+    private final float minSweepAngle;
+
+    @NonNull
+    private final RenderNode[] nodes;
+
+    @NonNull
+    private final RectF arcRect = new RectF();
+
+    private int recordedColor;
+    private float recordedStrokeWidth;
+
+
+    ArcRenderNodeCache(float minSweepAngle, float maxSweepAngle) {
+        this.minSweepAngle = minSweepAngle;
+        final int bucketCount = (int) Math.ceil((maxSweepAngle - minSweepAngle) / SWEEP_BUCKET_SIZE) + 1;
+        nodes = new RenderNode[bucketCount];
+    }
+
+
+    /**
+     * Draws an arc of approximately {@code sweepAngle} degrees starting at {@code rotation}
+     * degrees. {@code rect} is the arc oval in canvas coordinates.
+     */
+    void draw(
+            @NonNull Canvas canvas,
+            @NonNull RectF rect,
+            @NonNull Paint paint,
+            float rotation,
+            float sweepAngle
+    ) {
+        if (!arcRect.equals(rect)
+                || recordedColor != paint.getColor()
+                || recordedStrokeWidth != paint.getStrokeWidth()) {
+            arcRect.set(rect);
+            recordedColor = paint.getColor();
+            recordedStrokeWidth = paint.getStrokeWidth();
+            discardAll();
+        }
+
+        final int bucket = getBucket(sweepAngle);
+        RenderNode node = nodes[bucket];
+        if (node == null) {
+            node = new RenderNode("LoadonArc");
+            nodes[bucket] = node;
+        }
+        if (!node.hasDisplayList()) {
+            record(node, paint, minSweepAngle + bucket * SWEEP_BUCKET_SIZE);
+        }
+        node.setRotationZ(rotation);
+        canvas.drawRenderNode(node);
+    }
+
+    void discardAll() {
+        for (RenderNode node : nodes) {
+            if (node != null) {
+                node.discardDisplayList();
+            }
+        }
+    }
+
+
+    private int getBucket(float sweepAngle) {
+        final int bucket = Math.round((sweepAngle - minSweepAngle) / SWEEP_BUCKET_SIZE);
+        return Math.max(0, Math.min(nodes.length - 1, bucket));
+    }
+
+    private void record(@NonNull RenderNode node, @NonNull Paint paint, float sweepAngle) {
+        // Node covers the arc oval extended by the stroke, so round caps are not clipped
+        final float inset = paint.getStrokeWidth();
+        final int left = (int) Math.floor(arcRect.left - inset);
+        final int top = (int) Math.floor(arcRect.top - inset);
+        final int right = (int) Math.ceil(arcRect.right + inset);
+        final int bottom = (int) Math.ceil(arcRect.bottom + inset);
+        node.setPosition(left, top, right, bottom);
+        node.setPivotX(arcRect.centerX() - left);
+        node.setPivotY(arcRect.centerY() - top);
+
+        final RecordingCanvas recordingCanvas = node.beginRecording();
+        try {
+            recordingCanvas.translate(-left, -top);
+            recordingCanvas.drawArc(arcRect, 0f, sweepAngle, false, paint);
+        } finally {
+            node.endRecording();
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.alexyuzefovich.loadon;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import com.alexyuzefovich.loadon.core.FrameCallbackQueue;
+import com.alexyuzefovich.loadon.core.FrameClock;
+
+/**
+ * Default {@link FrameClock}, backed by the main thread {@link Choreographer}. All Loadons
+ * share one instance, so every frame costs a single Choreographer callback no matter how
+ * many of them animate. Must be used from the main thread only.
+ */
+final class ChoreographerFrameClock implements FrameClock, Choreographer.FrameCallback {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private Choreographer choreographer;
+
+    @NonNull
+    private final FrameCallbackQueue callbacks = new FrameCallbackQueue();
+
+    private boolean isFramePosted;
+
+    private boolean isInFrame;
+
+    private long frameTimeMillis;
+
+
+    private static class InstanceHolder {
+        static final ChoreographerFrameClock INSTANCE = new ChoreographerFrameClock();
+    }
+
+
+    private ChoreographerFrameClock() { }
+
+
+    /**
+     * Safe to call from any thread: the clock touches the Choreographer only when
+     * a frame is posted.
+     */
+    @NonNull
+    static ChoreographerFrameClock getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+
+    @Override
+    public long now() {
+        // Choreographer frame times are based on System.nanoTime(), so use the same base
+        return isInFrame ? frameTimeMillis : System.nanoTime() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull FrameClock.FrameCallback callback) {
+        callbacks.add(callback);
+        if (!isFramePosted) {
+            isFramePosted = true;
+            getChoreographer().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull FrameClock.FrameCallback callback) {
+        callbacks.remove(callback);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        isFramePosted = false;
+        isInFrame = true;
+        frameTimeMillis = frameTimeNanos / NANOS_PER_MILLI;
+        try {
+            callbacks.dispatch(frameTimeMillis);
+        } finally {
+            isInFrame = false;
+        }
+    }
+
+
+    @NonNull
+    private Choreographer getChoreographer() {
+        // Obtained lazily: Choreographer is bound to the Looper of the calling thread
+        if (choreographer == null) {
+            choreographer = Choreographer.getInstance();
+        }
+        return choreographer;
+    }
+
+}
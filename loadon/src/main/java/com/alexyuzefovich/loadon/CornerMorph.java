@@ -0,0 +1,116 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+
+import com.alexyuzefovich.loadon.core.CollapseGeometry;
+import com.google.android.material.shape.CornerSize;
+import com.google.android.material.shape.ShapeAppearanceModel;
+
+/**
+ * Morphs the corners of a {@link ShapeAppearanceModel} into a circle while Loadon collapses.
+ * The morphing model is built once per user shape and every frame only updates the progress
+ * of its mutable corner sizes. MaterialShapeDrawable derives a stroke model from it each time
+ * it rebuilds its path, which is why Loadon draws its own fill while the size animates.
+ */
+class CornerMorph {
+
+    private static class MorphingCornerSize implements CornerSize {
+
+        @NonNull
+        private CornerSize baseCornerSize;
+
+        private float progress;
+
+        MorphingCornerSize(@NonNull CornerSize baseCornerSize) {
+            this.baseCornerSize = baseCornerSize;
+        }
+
+        @Override
+        public float getCornerSize(@NonNull RectF bounds) {
+            return CollapseGeometry.getCornerRadius(
+                    baseCornerSize.getCornerSize(bounds),
+                    bounds.width(),
+                    bounds.height(),
+                    progress
+            );
+        }
+    }
+
+
+    @NonNull
+    private final MorphingCornerSize topLeft;
+
+    @NonNull
+    private final MorphingCornerSize topRight;
+
+    @NonNull
+    private final MorphingCornerSize bottomRight;
+
+    @NonNull
+    private final MorphingCornerSize bottomLeft;
+
+    @NonNull
+    private ShapeAppearanceModel morphingModel;
+
+    private float progress;
+
+
+    CornerMorph(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+        topLeft = new MorphingCornerSize(shapeAppearanceModel.getTopLeftCornerSize());
+        topRight = new MorphingCornerSize(shapeAppearanceModel.getTopRightCornerSize());
+        bottomRight = new MorphingCornerSize(shapeAppearanceModel.getBottomRightCornerSize());
+        bottomLeft = new MorphingCornerSize(shapeAppearanceModel.getBottomLeftCornerSize());
+        morphingModel = buildMorphingModel(shapeAppearanceModel);
+    }
+
+
+    /**
+     * Switches to a new user shape. Allocates a new morphing model, so it's meant for
+     * shape changes, not for animation frames.
+     */
+    void setShapeAppearanceModel(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+        topLeft.baseCornerSize = shapeAppearanceModel.getTopLeftCornerSize();
+        topRight.baseCornerSize = shapeAppearanceModel.getTopRightCornerSize();
+        bottomRight.baseCornerSize = shapeAppearanceModel.getBottomRightCornerSize();
+        bottomLeft.baseCornerSize = shapeAppearanceModel.getBottomLeftCornerSize();
+        morphingModel = buildMorphingModel(shapeAppearanceModel);
+    }
+
+    /**
+     * @return model with morphing corners, to be set on the shape drawables once
+     */
+    @NonNull
+    ShapeAppearanceModel getMorphingModel() {
+        return morphingModel;
+    }
+
+    /**
+     * @param progress 0 for the user shape, 1 for a circle
+     * @return whether the progress changed
+     */
+    boolean setProgress(float progress) {
+        if (this.progress == progress) {
+            return false;
+        }
+        this.progress = progress;
+        topLeft.progress = progress;
+        topRight.progress = progress;
+        bottomRight.progress = progress;
+        bottomLeft.progress = progress;
+        return true;
+    }
+
+
+    @NonNull
+    private ShapeAppearanceModel buildMorphingModel(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+        return shapeAppearanceModel.toBuilder()
+                .setTopLeftCornerSize(topLeft)
+                .setTopRightCornerSize(topRight)
+                .setBottomRightCornerSize(bottomRight)
+                .setBottomLeftCornerSize(bottomLeft)
+                .build();
+    }
+
+}
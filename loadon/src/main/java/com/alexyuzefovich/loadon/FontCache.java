@@ -0,0 +1,126 @@
+package com.alexyuzefovich.loadon;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+
+import androidx.annotation.FontRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.res.ResourcesCompat;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Font resources loaded in the background and shared by all Loadons. Each font is decoded
+ * once, on a single background thread; Loadons asking for a font which is still loading
+ * are called back when it arrives. Safe to call from any thread, callbacks are delivered
+ * on the main thread.
+ */
+final class FontCache {
+
+    interface Callback {
+        void onFontLoaded(@NonNull Typeface typeface);
+    }
+
+
+    private static final Object LOCK = new Object();
+
+    /**
+     * Loaded fonts by resource id, guarded by {@link #LOCK}.
+     */
+    private static final SparseArray<Typeface> FONTS = new SparseArray<>();
+
+    /**
+     * Callbacks waiting for fonts being loaded, guarded by {@link #LOCK}. Held weakly, so
+     * a pending font doesn't keep drawables (and the views hosting them) alive.
+     */
+    private static final SparseArray<List<WeakReference<Callback>>> PENDING_CALLBACKS = new SparseArray<>();
+
+
+    private static class ExecutorHolder {
+        static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "LoadonFontLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    }
+
+
+    private FontCache() { }
+
+
+    /**
+     * @return the font if it's already loaded, otherwise null, and {@code callback} is
+     * called once the font is loaded (never if loading fails or the callback is no longer
+     * referenced by anything else)
+     */
+    @Nullable
+    static Typeface getFont(@NonNull Context context, @FontRes int fontResId, @NonNull Callback callback) {
+        final boolean isFirstRequest;
+        synchronized (LOCK) {
+            final Typeface font = FONTS.get(fontResId);
+            if (font != null) {
+                return font;
+            }
+            List<WeakReference<Callback>> callbacks = PENDING_CALLBACKS.get(fontResId);
+            isFirstRequest = callbacks == null;
+            if (isFirstRequest) {
+                callbacks = new ArrayList<>();
+                PENDING_CALLBACKS.put(fontResId, callbacks);
+            }
+            callbacks.add(new WeakReference<>(callback));
+        }
+        if (isFirstRequest) {
+            // Fonts don't depend on the theme, so don't keep e.g. an Activity while loading
+            final Context appContext = context.getApplicationContext() != null
+                    ? context.getApplicationContext()
+                    : context;
+            ExecutorHolder.EXECUTOR.execute(() -> {
+                final Typeface typeface = loadFont(appContext, fontResId);
+                ExecutorHolder.MAIN_HANDLER.post(() -> onFontLoaded(fontResId, typeface));
+            });
+        }
+        return null;
+    }
+
+
+    @Nullable
+    private static Typeface loadFont(@NonNull Context context, @FontRes int fontResId) {
+        try {
+            return ResourcesCompat.getFont(context, fontResId);
+        } catch (Resources.NotFoundException e) {
+            return null;
+        }
+    }
+
+    private static void onFontLoaded(@FontRes int fontResId, @Nullable Typeface typeface) {
+        final List<WeakReference<Callback>> callbacks;
+        synchronized (LOCK) {
+            if (typeface != null) {
+                FONTS.put(fontResId, typeface);
+            }
+            callbacks = PENDING_CALLBACKS.get(fontResId);
+            PENDING_CALLBACKS.remove(fontResId);
+        }
+        if (typeface == null || callbacks == null) {
+            return;
+        }
+        for (WeakReference<Callback> callbackReference : callbacks) {
+            final Callback callback = callbackReference.get();
+            if (callback != null) {
+                callback.onFontLoaded(typeface);
+            }
+        }
+    }
+
+}
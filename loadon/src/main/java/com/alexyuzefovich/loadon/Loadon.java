@@ -1,86 +1,107 @@
 package com.alexyuzefovich.loadon;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.AnimatorSet;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.Color;
+import android.graphics.Outline;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
 import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
-import android.text.Layout;
-import android.text.StaticLayout;
-import android.text.TextPaint;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
 import android.view.View;
-import android.view.animation.LinearInterpolator;
+import android.view.ViewOutlineProvider;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.customview.view.AbsSavedState;
 
+import com.alexyuzefovich.loadon.core.ArcGeometry;
+import com.alexyuzefovich.loadon.core.Bounds;
+import com.alexyuzefovich.loadon.core.FrameClock;
+import com.alexyuzefovich.loadon.core.Interpolation;
+import com.alexyuzefovich.loadon.core.LoadonState;
+import com.alexyuzefovich.loadon.core.ManualFrameClock;
+import com.google.android.material.shape.MaterialShapeDrawable;
 import com.google.android.material.shape.ShapeAppearanceModel;
 import com.google.android.material.shape.Shapeable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 public class Loadon extends View implements Shapeable {
 
-    enum State {
-        NORMAL,
-        COLLAPSING,
-        LOADING,
-        EXTENDING,
-        SUCCEED,
-        FAILED;
-
-        boolean isIndicationState() {
-            return this == LOADING || this == SUCCEED || this == FAILED;
+    public interface OnTransitionLatencyListener {
+        /**
+         * Called when the first frame showing a visible change made by {@link #startLoading},
+         * {@link #stopLoading} or {@link #reset} is drawn: the indicator appears, changes or
+         * goes away, or the drawn width moves by at least 2dp. Frames which only start an
+         * animation without a noticeable step don't count.
+         *
+         * @param state state drawn in that frame, possibly a later one than the call entered
+         * @param latencyMillis time from the input event which led to the call (or from
+         *                      the call itself, if this Loadon got no recent input) to the draw
+         */
+        void onTransitionLatency(@NonNull Loadon loadon, @NonNull LoadonState state, long latencyMillis);
+    }
+
+
+    /**
+     * Input events older than this at the time of a call are not considered its cause.
+     */
+    private static final long INPUT_EVENT_MAX_AGE = 500L;
+
+    /**
+     * Smallest width change a transition's frame must make to count as visible feedback.
+     */
+    private static final float MIN_VISIBLE_WIDTH_CHANGE_DP = 2f;
+
+    /**
+     * Without a background the view has no outline, so in the single-pass mode it's taken
+     * from the shape filled by the drawable, keeping the elevation shadow and clipping.
+     */
+    private static final ViewOutlineProvider SHAPE_FILL_OUTLINE_PROVIDER = new ViewOutlineProvider() {
+        @Override
+        public void getOutline(View view, Outline outline) {
+            ((Loadon) view).loadonDrawable.getOutline(outline);
         }
-    }
-
-    private static final long SIZE_ANIMATION_DURATION = 500L;
-
-    private static final float DEFAULT_TEXT_SIZE = 15f;
-    private static final int DEFAULT_TEXT_COLOR = Color.BLACK;
+    };
 
-    private static final Class<?>[] PROGRESS_INDICATOR_CONSTRUCTOR_SIGNATURE =
-            new Class<?>[]{Context.class, AttributeSet.class, int.class, int.class};
-    
-    private String text = "";
-    private float textSize = DEFAULT_TEXT_SIZE;
-    private int textColor = DEFAULT_TEXT_COLOR;
-
-    private final TextPaint textPaint = new TextPaint();
-
-    private StaticLayout textLayout;
+    @NonNull
+    private final LoadonDrawable loadonDrawable;
 
     @NonNull
-    private State state = State.NORMAL;
+    private final LoadonBackgroundHelper loadonBackgroundHelper;
 
-    private int textWidth;
-    private int textHeight;
+    @Nullable
+    private LoadonDebugOverlay debugOverlay;
 
-    private int currentAnimatedWidth;
+    @Nullable
+    private OnTransitionLatencyListener onTransitionLatencyListener;
 
-    @NonNull
-    private final ValueAnimator sizeAnimator = new ValueAnimator();
+    private long lastInputEventTime = -1L;
 
-    private ProgressIndicator progressIndicator;
+    /**
+     * Start of the latency of the transition waiting for its first visible frame, or -1.
+     */
+    private long transitionStartTime = -1L;
 
+    /**
+     * What was drawn when the measured transition was called; see {@link #isTransitionVisible}.
+     */
     @NonNull
-    private final AnimatorSet stateAnimator = new AnimatorSet();
+    private LoadonState transitionFromState = LoadonState.NORMAL;
 
-    @NonNull
-    private final LoadonBackgroundHelper loadonBackgroundHelper;
+    private int transitionFromWidth;
 
 
     public Loadon(@NonNull Context context) {
@@ -102,138 +123,186 @@ public class Loadon extends View implements Shapeable {
             int defStyleRes
     ) {
         super(context, attrs, defStyleAttr, defStyleRes);
-        initFromAttrs(context, attrs, defStyleAttr, defStyleRes);
-        initProgressIndicator();
-        initStateAnimator();
-
+        // Stupid layoutlib cannot handle simple class loaders.
+        final ClassLoader classLoader = isInEditMode()
+                ? getClass().getClassLoader()
+                : context.getClassLoader();
+        // The view may be inflated off the main thread, so a font loaded meanwhile is applied
+        // on the UI thread: right away if attached, otherwise once attached
+        loadonDrawable = new LoadonDrawable(
+                context,
+                attrs,
+                defStyleAttr,
+                defStyleRes,
+                classLoader,
+                drawable -> post(drawable::applyPendingTypeface)
+        );
+        loadonDrawable.setCallback(this);
+        updateFramesEnabled(false);
         loadonBackgroundHelper = new LoadonBackgroundHelper(this, attrs, defStyleAttr, defStyleRes);
+        loadonDrawable.setOnSizeChangeListener(drawable -> {
+            loadonBackgroundHelper.setCornerMorphProgress(drawable.getCollapseProgress());
+            if (drawable.isShapeFillEnabled()) {
+                invalidateOutline();
+            }
+            requestLayout();
+        });
+        loadonDrawable.setOnStateChangeListener(drawable -> updateRenderingMode());
+        loadonDrawable.setOnFrameListener(drawable -> {
+            final LoadonDebugOverlay overlay = getDebugOverlay();
+            if (overlay != null) {
+                overlay.onAnimationFrame(this);
+            }
+        });
+        updateRenderingMode();
     }
 
-    private void initFromAttrs(
-            @NonNull Context context,
-            @Nullable AttributeSet attrs,
-            int defStyleAttr,
-            int defStyleRes
-    ) {
+
+    /**
+     * Does the one-time work of the first Loadon inflation ahead of time: loads the default
+     * style, resolves the progress indicator class and its constructor, and builds the
+     * default shape and background drawables. Safe to call from any thread, e.g. before
+     * inflating layouts with AsyncLayoutInflater.
+     */
+    public static void prewarm(@NonNull Context context) {
         TypedArray ta = context.getTheme().obtainStyledAttributes(
-                attrs,
+                null,
                 R.styleable.Loadon,
-                defStyleAttr,
-                defStyleRes
+                R.attr.loadonStyle,
+                R.style.Loadon
         );
-
-        text = ta.getString(R.styleable.Loadon_text);
-        textSize = ta.getDimension(R.styleable.Loadon_textSize, DEFAULT_TEXT_SIZE);
-        textColor = ta.getColor(R.styleable.Loadon_textColor, DEFAULT_TEXT_COLOR);
-
-        textPaint.setTextSize(textSize);
-        textPaint.setColor(textColor);
-        textPaint.setAntiAlias(true);
-
-        // Initially we set textWidth as full text width in one line (without line breaks).
-        // In onMeasure we'll get final view desired (or max) width, so we can set correct width.
-        textWidth = (int) textPaint.measureText(text);
-
         final String progressIndicatorClassName = ta.getString(R.styleable.Loadon_progressIndicator);
-        createProgressIndicator(context, progressIndicatorClassName, attrs, defStyleAttr, defStyleRes);
-
+        // Fills the resources drawable cache when a style sets a background drawable
+        ta.getDrawable(R.styleable.Loadon_android_background);
         ta.recycle();
-    }
 
-    private void initStateAnimator() {
-        initSizeAnimator();
-        stateAnimator.playSequentially(
-                sizeAnimator,
-                progressIndicator.getAnimator()
+        ProgressIndicatorFactory.prewarm(context, progressIndicatorClassName, context.getClassLoader());
+        new LoadonDrawable(context, null, R.attr.loadonStyle, R.style.Loadon);
+        new MaterialShapeDrawable(
+                ShapeAppearanceModel.builder(context, null, R.attr.loadonStyle, R.style.Loadon).build()
         );
     }
 
-    private void initSizeAnimator() {
-        sizeAnimator.addUpdateListener(animation -> {
-            currentAnimatedWidth = (int) animation.getAnimatedValue();
-            invalidate();
-            requestLayout();
-        });
-        sizeAnimator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                switch (state) {
-                    case COLLAPSING: {
-                        state = State.LOADING;
-                        break;
-                    }
-                    case EXTENDING: {
-                        state = State.NORMAL;
-                        break;
-                    }
-                }
-            }
-        });
-        sizeAnimator.setDuration(SIZE_ANIMATION_DURATION);
-    }
 
-    private void initProgressIndicator() {
-        if (progressIndicator == null) {
-            progressIndicator = new DefaultProgressIndicator(getContext());
-        }
-        progressIndicator.setDrawingListener(this::invalidate);
+    /**
+     * Toggles the debug HUD over all Loadons: state, text layout rebuilds, redraws per
+     * second, a flash on every measure and a warning when animating detached or off-screen.
+     * Takes effect on the next draw of each Loadon. Off by default in every build of the
+     * library, so it's up to the app to enable it only in its own debug builds.
+     */
+    public static void setDebugOverlayEnabled(boolean isEnabled) {
+        LoadonDebugOverlay.setEnabled(isEnabled);
     }
 
 
-    //TODO global fields textWidth textHeight not updating. Fix it
     public void setText(String text) {
-        this.text = text;
-        applyTextChanges(true);
+        loadonDrawable.setText(text);
     }
 
     public void setTextSize(float textSize) {
-        this.textSize = textSize;
-        applyTextChanges(false);
+        loadonDrawable.setTextSize(textSize);
     }
 
     public void setTextColor(int textColor) {
-        this.textColor = textColor;
-        applyTextChanges(false);
+        loadonDrawable.setTextColor(textColor);
+    }
+
+    public void setTypeface(@Nullable Typeface typeface) {
+        loadonDrawable.setTypeface(typeface);
+    }
+
+    /**
+     * See {@link LoadonDrawable#setAutoSizeTextConfiguration(float, float, float)}.
+     */
+    public void setAutoSizeTextConfiguration(float minTextSize, float maxTextSize, float stepGranularity) {
+        loadonDrawable.setAutoSizeTextConfiguration(minTextSize, maxTextSize, stepGranularity);
+    }
+
+    public void disableAutoSizeText() {
+        loadonDrawable.disableAutoSizeText();
     }
 
     public void setProgressIndicator(@NonNull ProgressIndicator progressIndicator) {
-        this.progressIndicator = progressIndicator;
-        invalidate();
+        loadonDrawable.setProgressIndicator(progressIndicator);
+    }
+
+    /**
+     * Sets a time-driven indicator, see {@link LoadonIndicator}.
+     */
+    public void setIndicator(@NonNull LoadonIndicator indicator) {
+        loadonDrawable.setIndicator(indicator);
+    }
+
+    /**
+     * @return renderer which draws this view's label and indicator and holds its state
+     */
+    @NonNull
+    public LoadonDrawable getLoadonDrawable() {
+        return loadonDrawable;
+    }
+
+    /**
+     * Sets the source of time and frames for all Loadon animations, including the
+     * progress indicator. Pass a {@link ManualFrameClock} to step frames by hand;
+     * null restores the default vsync-driven clock.
+     */
+    public void setFrameClock(@Nullable FrameClock frameClock) {
+        loadonDrawable.setFrameClock(frameClock);
+        updateFramesEnabled(isAttachedToWindow());
+    }
+
+    /**
+     * Reports the latency from input to the first visibly changed frame of every transition
+     * started by a call to this view. Latency is measured up to the draw on the UI thread.
+     */
+    public void setOnTransitionLatencyListener(@Nullable OnTransitionLatencyListener listener) {
+        onTransitionLatencyListener = listener;
     }
 
     @Override
     public void setBackground(Drawable background) {
+        // Null while View's constructor applies android:background, which the helper
+        // reads from the attrs itself
+        if (loadonBackgroundHelper != null) {
+            loadonBackgroundHelper.setUserBackgroundSet();
+        }
         super.setBackground(background);
+        if (loadonBackgroundHelper != null) {
+            updateRenderingMode();
+        }
     }
 
     void setBackgroundInternal(Drawable background) {
         super.setBackground(background);
     }
 
+    /**
+     * With the default background, sets the color of the shape, keeping its ripple.
+     */
     @Override
     public void setBackgroundColor(int color) {
         if (loadonBackgroundHelper.isUserBackgroundSet()) {
-            loadonBackgroundHelper.setBackgroundColor(color);
-        } else {
             super.setBackgroundColor(color);
+        } else {
+            setBackgroundTintList(ColorStateList.valueOf(color));
         }
     }
 
     @Override
     public void setBackgroundTintList(@Nullable ColorStateList tint) {
-        if (loadonBackgroundHelper.isUserBackgroundSet()) {
+        super.setBackgroundTintList(tint);
+        if (!loadonBackgroundHelper.isUserBackgroundSet()) {
             loadonBackgroundHelper.setBackgroundTint(tint);
-        } else {
-            super.setBackgroundTintList(tint);
+            updateRenderingMode();
         }
     }
 
     @Override
     public void setBackgroundTintMode(@Nullable PorterDuff.Mode tintMode) {
-        if (loadonBackgroundHelper.isUserBackgroundSet()) {
+        super.setBackgroundTintMode(tintMode);
+        if (!loadonBackgroundHelper.isUserBackgroundSet()) {
             loadonBackgroundHelper.setBackgroundTintMode(tintMode);
-        } else {
-            super.setBackgroundTintMode(tintMode);
+            updateRenderingMode();
         }
     }
 
@@ -246,214 +315,241 @@ public class Loadon extends View implements Shapeable {
     @Override
     public void setShapeAppearanceModel(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
         loadonBackgroundHelper.setShapeAppearanceModel(shapeAppearanceModel);
+        updateRenderingMode();
+    }
+
+    /**
+     * Picks between the layered background (ripple over shape) and the single-pass mode,
+     * where the shape fill, label and indicator are all drawn by {@link #onDraw}.
+     * Single pass is used whenever the ripple isn't needed: no ripple color is set, or Loadon
+     * is animating its size or showing the indicator. The ripple's shape is never drawn
+     * mid-animation, where it would rebuild its path on every frame.
+     */
+    private void updateRenderingMode() {
+        final boolean isSinglePass = loadonBackgroundHelper.canDrawInSinglePass()
+                && (!loadonBackgroundHelper.isRippleNeeded()
+                        || loadonDrawable.getLoadonState() != LoadonState.NORMAL);
+        loadonBackgroundHelper.setSinglePassEnabled(isSinglePass);
+        if (isSinglePass) {
+            loadonDrawable.setShapeFill(
+                    loadonBackgroundHelper.getCornerSize(),
+                    loadonBackgroundHelper.getBackgroundTint()
+            );
+        } else {
+            loadonDrawable.setShapeFill(null, null);
+        }
+        // A provider set by the user is left as is
+        final ViewOutlineProvider outlineProvider = getOutlineProvider();
+        if (outlineProvider == ViewOutlineProvider.BACKGROUND
+                || outlineProvider == SHAPE_FILL_OUTLINE_PROVIDER) {
+            setOutlineProvider(isSinglePass ? SHAPE_FILL_OUTLINE_PROVIDER : ViewOutlineProvider.BACKGROUND);
+        }
     }
 
 
-    private void applyTextChanges(boolean reMeasure) {
-        makeLayout(getWidth());
-        invalidate();
-        if (reMeasure) {
-            requestLayout();
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        updateFramesEnabled(true);
+        loadonDrawable.applyPendingTypeface();
+        final LoadonDebugOverlay overlay = getDebugOverlay();
+        if (overlay != null) {
+            overlay.onAttachedToWindow();
         }
     }
 
-    private void createProgressIndicator(
-            @NonNull Context context,
-            @Nullable String className,
-            @NonNull AttributeSet attrs,
-            int defStyleAttr,
-            int defStyleRes
-    ) {
-        if (className != null) {
-            className = getFullClassName(context, className.trim());
-            if (!className.isEmpty()) {
-                try {
-                    ClassLoader classLoader;
-                    if (isInEditMode()) {
-                        // Stupid layoutlib cannot handle simple class loaders.
-                        classLoader = this.getClass().getClassLoader();
-                    } else {
-                        classLoader = context.getClassLoader();
-                    }
-                    Class<? extends Loadon.ProgressIndicator> progressIndicatorClass =
-                            Class.forName(className, false, classLoader)
-                                    .asSubclass(Loadon.ProgressIndicator.class);
-                    Constructor<? extends Loadon.ProgressIndicator> constructor;
-                    Object[] constructorArgs = null;
-                    try {
-                        constructor = progressIndicatorClass
-                                .getConstructor(PROGRESS_INDICATOR_CONSTRUCTOR_SIGNATURE);
-                        constructorArgs = new Object[]{context, attrs, defStyleAttr, defStyleRes};
-                    } catch (NoSuchMethodException e) {
-                        try {
-                            constructor = progressIndicatorClass.getConstructor();
-                        } catch (NoSuchMethodException e1) {
-                            e1.initCause(e);
-                            throw new IllegalStateException(attrs.getPositionDescription()
-                                    + ": Error creating ProgressIndicator " + className, e1);
-                        }
-                    }
-                    constructor.setAccessible(true);
-                    progressIndicator = constructor.newInstance(constructorArgs);
-                } catch (ClassNotFoundException e) {
-                    throw new IllegalStateException(attrs.getPositionDescription()
-                            + ": Unable to find ProgressIndicator " + className, e);
-                } catch (InvocationTargetException | InstantiationException e) {
-                    throw new IllegalStateException(attrs.getPositionDescription()
-                            + ": Could not instantiate the ProgressIndicator: " + className, e);
-                } catch (IllegalAccessException e) {
-                    throw new IllegalStateException(attrs.getPositionDescription()
-                            + ": Cannot access non-public constructor " + className, e);
-                } catch (ClassCastException e) {
-                    throw new IllegalStateException(attrs.getPositionDescription()
-                            + ": Class is not a ProgressIndicator " + className, e);
-                }
+    @Override
+    protected void onDetachedFromWindow() {
+        updateFramesEnabled(false);
+        loadonDrawable.releaseDrawingCaches();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Views may be inflated off the main thread, so nothing is posted to the default
+     * (main thread) clock until attached. Other clocks are driven by whoever set them,
+     * e.g. a test stepping a {@link ManualFrameClock}, so they get frames at any time.
+     */
+    private void updateFramesEnabled(boolean isAttached) {
+        loadonDrawable.setFramesEnabled(
+                isAttached || !(loadonDrawable.getFrameClock() instanceof ChoreographerFrameClock)
+        );
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == loadonDrawable || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable drawable) {
+        if (drawable == loadonDrawable) {
+            final LoadonDebugOverlay overlay = getDebugOverlay();
+            if (overlay != null) {
+                overlay.onDrawableInvalidated();
             }
+            // No outline rebuild: the outline changes only with the size, and the single-pass
+            // one is invalidated by the size change listener
+            invalidate();
+        } else {
+            super.invalidateDrawable(drawable);
         }
     }
 
-    @NonNull
-    private String getFullClassName(
-            @NonNull Context context,
-            @NonNull String className
-    ) {
-        if (className.charAt(0) == '.') {
-            return context.getPackageName() + className;
-        }
-        if (className.contains(".")) {
-            return className;
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        if (loadonDrawable.isStateful() && loadonDrawable.setState(getDrawableState())) {
+            invalidate();
         }
-        final Package loadonPackage = Loadon.class.getPackage();
-        return loadonPackage != null ? loadonPackage.getName() + '.' + className : "";
     }
 
-    private int getExpandedWidth() {
-        return textWidth + getPaddingLeft() + getPaddingRight();
+    @Override
+    public void jumpDrawablesToCurrentState() {
+        super.jumpDrawablesToCurrentState();
+        loadonDrawable.jumpToCurrentState();
     }
 
-    private int getCollapsedWidth() {
-        return textHeight + getPaddingLeft() + getPaddingRight();
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent event) {
+        lastInputEventTime = event.getEventTime();
+        return super.dispatchTouchEvent(event);
     }
 
-    private void getDrawingRect(@NonNull RectF rectF) {
-        final float left = getPaddingStart();
-        final float top = getPaddingTop();
-        final float right = getWidth() - getPaddingEnd();
-        final float bottom = getHeight() - getPaddingBottom();
-        rectF.set(left, top, right, bottom);
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        lastInputEventTime = event.getEventTime();
+        return super.dispatchKeyEvent(event);
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        final int desiredWidth;
-        final int desiredHeight;
+        final LoadonDebugOverlay overlay = getDebugOverlay();
+        if (overlay != null) {
+            overlay.onMeasure();
+        }
+        loadonDrawable.setPadding(getPaddingLeft(), getPaddingTop(), getPaddingRight(), getPaddingBottom());
 
         final int finalWidth;
         final int finalHeight;
 
-        if (textLayout == null) {
-            // First measure: make text layout and update textWidth based on possible view width
-            desiredWidth = getExpandedWidth();
-            finalWidth = resolveSize(desiredWidth, widthMeasureSpec);
-
-            int targetTextWidth = excludeHorizontalPadding(Math.min(desiredWidth, finalWidth));
-            makeLayout(targetTextWidth);
+        if (!loadonDrawable.isLoading()) {
+            final int maxWidth = MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED
+                    ? Integer.MAX_VALUE
+                    : MeasureSpec.getSize(widthMeasureSpec);
+            loadonDrawable.fitTextSize(maxWidth);
+        }
 
-            desiredHeight = textHeight + getPaddingTop() + getPaddingBottom();
-            finalHeight = resolveSize(desiredHeight, heightMeasureSpec);
+        if (!loadonDrawable.hasTextLayout()) {
+            // First measure: make text layout and update text width based on possible view width
+            final int desiredWidth = loadonDrawable.getExpandedWidth();
+            finalWidth = resolveSize(desiredWidth, widthMeasureSpec);
+            loadonDrawable.makeInitialLayout(Math.min(desiredWidth, finalWidth));
+            finalHeight = resolveSize(loadonDrawable.getDesiredHeight(), heightMeasureSpec);
+        } else if (!loadonDrawable.isLoading()) {
+            finalWidth = resolveSize(loadonDrawable.getExpandedWidth(), widthMeasureSpec);
+            finalHeight = resolveSize(loadonDrawable.getDesiredHeight(), heightMeasureSpec);
+            loadonDrawable.onWidthChanged(finalWidth);
         } else {
-            // Second and others measure: simple handle normal or on animation re-measure
-            desiredWidth = state == State.NORMAL ? getExpandedWidth() : currentAnimatedWidth;
-            desiredHeight = textHeight + getPaddingTop() + getPaddingBottom();
-
-            if (state != State.NORMAL) {
-                final float sizeMultiplier = ((float) currentAnimatedWidth - getCollapsedWidth()) / (getExpandedWidth() - getCollapsedWidth());
-                final int multipliedAlpha = (int) (sizeMultiplier * 255);
-                final float multipliedTextSize = sizeMultiplier * textSize;
-                textPaint.setAlpha(multipliedAlpha);
-                textPaint.setTextSize(multipliedTextSize);
-
-                finalWidth = desiredWidth;
-                finalHeight = desiredHeight;
-            } else {
-                textPaint.setTextSize(textSize);
-                textPaint.setAlpha(255);
-
-                finalWidth = resolveSize(desiredWidth, widthMeasureSpec);
-                finalHeight = resolveSize(desiredHeight, heightMeasureSpec);
-            }
-
-            final int targetTextWidth = excludeHorizontalPadding(finalWidth);
-            makeLayout(targetTextWidth);
+            // On animation re-measure: text is already laid out by the drawable for the animated width
+            finalWidth = loadonDrawable.getAnimatedWidth();
+            finalHeight = loadonDrawable.getDesiredHeight();
         }
 
         setMeasuredDimension(finalWidth, finalHeight);
     }
 
-    private int excludeHorizontalPadding(int paddedWidth) {
-        return paddedWidth - getPaddingStart() - getPaddingEnd();
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        loadonDrawable.setBounds(0, 0, w, h);
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        if (!state.isIndicationState()) {
-            canvas.save();
-            final float translationX = (getWidth() - textLayout.getWidth()) / 2f;
-            final float translationY = (getHeight() - textLayout.getHeight()) / 2f;
-            canvas.translate(translationX, translationY);
-            textLayout.draw(canvas);
-            canvas.restore();
-        } else {
-            progressIndicator.draw(this, canvas);
+        loadonDrawable.draw(canvas);
+        if (transitionStartTime >= 0L && isTransitionVisible()) {
+            final long latency = SystemClock.uptimeMillis() - transitionStartTime;
+            transitionStartTime = -1L;
+            if (onTransitionLatencyListener != null) {
+                onTransitionLatencyListener.onTransitionLatency(this, loadonDrawable.getLoadonState(), latency);
+            }
+        }
+        final LoadonDebugOverlay overlay = getDebugOverlay();
+        if (overlay != null) {
+            overlay.draw(this, canvas, loadonDrawable);
         }
     }
 
-    private void makeLayout(int availableWidth) {
-        final boolean isFirstMake = textLayout == null;
-        textLayout = new StaticLayout(
-                text,
-                textPaint,
-                availableWidth,
-                Layout.Alignment.ALIGN_CENTER,
-                1f, 0, false);
-        // We firstly get availableWidth (view width from onMeasure), so finally set textWidth & textHeight
-        if (isFirstMake) {
-            textWidth = textLayout.getWidth();
-            textHeight = textLayout.getHeight();
+    /**
+     * @return the debug HUD of this view if it's enabled globally, creating it on first use
+     */
+    @Nullable
+    private LoadonDebugOverlay getDebugOverlay() {
+        if (!LoadonDebugOverlay.isEnabled()) {
+            return null;
         }
+        if (debugOverlay == null) {
+            debugOverlay = new LoadonDebugOverlay(this);
+        }
+        return debugOverlay;
     }
 
     public void startLoading() {
-        if (state == State.LOADING) {
-            return;
-        }
-        startStateAnimation(getWidth(), getCollapsedWidth());
+        final LoadonState previousState = loadonDrawable.getLoadonState();
+        final int previousWidth = loadonDrawable.getDrawnWidth();
+        loadonDrawable.startLoading();
+        onTransitionCall(previousState, previousWidth);
     }
 
     public void stopLoading(boolean isSuccessful) {
-        if (state == State.NORMAL) {
+        final LoadonState previousState = loadonDrawable.getLoadonState();
+        final int previousWidth = loadonDrawable.getDrawnWidth();
+        loadonDrawable.stopLoading(isSuccessful);
+        onTransitionCall(previousState, previousWidth);
+    }
+
+    /**
+     * Brings Loadon back to its normal state. A running collapse is reversed
+     * from its current width instead of being restarted.
+     */
+    public void reset() {
+        final LoadonState previousState = loadonDrawable.getLoadonState();
+        final int previousWidth = loadonDrawable.getDrawnWidth();
+        loadonDrawable.reset();
+        onTransitionCall(previousState, previousWidth);
+    }
+
+    /**
+     * Starts measuring the latency of the transition if the call changed the state.
+     * The measurement ends on the first draw which differs from what was drawn at the call.
+     */
+    private void onTransitionCall(@NonNull LoadonState previousState, int previousWidth) {
+        if (onTransitionLatencyListener == null || loadonDrawable.getLoadonState() == previousState) {
             return;
         }
-        if (isSuccessful) {
-            state = State.SUCCEED;
-            progressIndicator.onSuccess();
-        } else {
-            state = State.FAILED;
-            progressIndicator.onFailure();
-        }
-    }
-
-    private void startStateAnimation(int sizeStartValue, int sizeEndValue) {
-        startStateAnimation(sizeStartValue, sizeEndValue, 0);
+        final long now = SystemClock.uptimeMillis();
+        transitionStartTime = lastInputEventTime >= 0L && now - lastInputEventTime <= INPUT_EVENT_MAX_AGE
+                ? lastInputEventTime
+                : now;
+        transitionFromState = previousState;
+        transitionFromWidth = previousWidth;
     }
 
-    private void startStateAnimation(int sizeStartValue, int sizeEndValue, long currentPlayTime) {
-        stateAnimator.cancel();
-        sizeAnimator.setIntValues(sizeStartValue, sizeEndValue);
-        stateAnimator.start();
-        sizeAnimator.setCurrentPlayTime(currentPlayTime);
-        state = sizeStartValue > sizeEndValue ? State.COLLAPSING : State.EXTENDING;
+    /**
+     * A frame of a transition may look about the same as before, e.g. the start of an eased
+     * collapse, so a transition counts as visible only once the indicator appears, changes
+     * or goes away, or the width moves by {@link #MIN_VISIBLE_WIDTH_CHANGE_DP}.
+     */
+    private boolean isTransitionVisible() {
+        final LoadonState state = loadonDrawable.getLoadonState();
+        if (state != transitionFromState
+                && (state.isIndicationState() || transitionFromState.isIndicationState())) {
+            return true;
+        }
+        final float minWidthChange = MIN_VISIBLE_WIDTH_CHANGE_DP * getResources().getDisplayMetrics().density;
+        return Math.abs(loadonDrawable.getDrawnWidth() - transitionFromWidth) >= minWidthChange;
     }
 
     @NonNull
@@ -461,10 +557,9 @@ public class Loadon extends View implements Shapeable {
     public Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
         SavedState savedState = new SavedState(superState);
-        savedState.state = state;
-        savedState.x = currentAnimatedWidth;
-        savedState.sizeAnimationPlayTime = sizeAnimator.getCurrentPlayTime();
-        savedState.indicatorAnimationPlayTime = progressIndicator.getAnimator().getCurrentPlayTime();
+        savedState.state = loadonDrawable.getLoadonState();
+        savedState.sizeAnimationPlayTime = loadonDrawable.getSizeAnimationPlayTime();
+        savedState.stateTime = loadonDrawable.getStateTime();
         return savedState;
     }
 
@@ -476,32 +571,26 @@ public class Loadon extends View implements Shapeable {
         }
         SavedState savedState = (SavedState) parcelableState;
         super.onRestoreInstanceState(savedState.getSuperState());
-        state = savedState.state;
-        currentAnimatedWidth = savedState.x;
-        final long sizeAnimationPlayTime = savedState.sizeAnimationPlayTime;
-        final long indicatorAnimationPlayTime = savedState.indicatorAnimationPlayTime;
-        switch (state) {
-            case EXTENDING: {
-                startStateAnimation(currentAnimatedWidth, getExpandedWidth(), sizeAnimationPlayTime);
-                return;
-            }
-            case LOADING: {
-                final ValueAnimator indicatorAnimator = progressIndicator.getAnimator();
-                indicatorAnimator.start();
-                indicatorAnimator.setCurrentPlayTime(indicatorAnimationPlayTime);
-                return;
-            }
-            case COLLAPSING: {
-                startStateAnimation(currentAnimatedWidth, getCollapsedWidth(), sizeAnimationPlayTime);
-            }
-        }
+        loadonDrawable.restoreState(
+                savedState.state,
+                savedState.sizeAnimationPlayTime,
+                savedState.stateTime
+        );
     }
 
 
+    /**
+     * Animator-based indicator API, run by Loadon through {@link LoadonIndicator}.
+     * New indicators, especially outside of this package, should implement
+     * {@link LoadonIndicator} directly.
+     */
     public abstract static class ProgressIndicator {
 
         interface DrawingListener {
-            void requestDraw();
+            /**
+             * @param dirtyBounds changed area in drawable coordinates, or null if all of it changed
+             */
+            void requestDraw(@Nullable Rect dirtyBounds);
         }
 
 
@@ -510,6 +599,9 @@ public class Loadon extends View implements Shapeable {
         @Nullable
         private DrawingListener drawingListener;
 
+        @NonNull
+        private final RectF dirtyRect = new RectF();
+
 
         public ProgressIndicator(@NonNull Context context) {
             this(context, null, R.attr.loadonStyle, R.style.Loadon);
@@ -537,7 +629,7 @@ public class Loadon extends View implements Shapeable {
                     defStyleRes
             );
 
-            final int textColor = ta.getColor(R.styleable.Loadon_textColor, DEFAULT_TEXT_COLOR);
+            final int textColor = ta.getColor(R.styleable.Loadon_textColor, LoadonDrawable.DEFAULT_TEXT_COLOR);
             progressIndicatorColor = ta.getColor(R.styleable.Loadon_progressIndicatorColor, textColor);
 
             ta.recycle();
@@ -555,19 +647,65 @@ public class Loadon extends View implements Shapeable {
 
         protected void requestDraw() {
             if (drawingListener != null) {
-                drawingListener.requestDraw();
+                drawingListener.requestDraw(null);
             }
         }
 
+        /**
+         * Requests a redraw of only the given area, in {@link LoadonDrawable} coordinates.
+         * Requests made while Loadon animates are merged and applied once per frame.
+         */
+        protected void requestDraw(@NonNull Rect dirtyBounds) {
+            if (drawingListener != null) {
+                drawingListener.requestDraw(dirtyBounds);
+            }
+        }
 
-        @NonNull
-        abstract ValueAnimator getAnimator();
+
+        /**
+         * @return animator of the loading state, stepped by Loadon's {@link FrameClock}
+         * instead of being started, or null if {@link #onFrame} is overridden
+         */
+        @Nullable
+        ValueAnimator getAnimator() {
+            return null;
+        }
+
+        /**
+         * Updates the indicator for a frame.
+         *
+         * @param state current indication state
+         * @param stateTime time in ms since the state was entered
+         * @return whether the indicator still animates in this state
+         */
+        boolean onFrame(@NonNull LoadonState state, long stateTime) {
+            final ValueAnimator animator = getAnimator();
+            if (animator == null || state != LoadonState.LOADING) {
+                return false;
+            }
+            animator.setCurrentPlayTime(stateTime);
+            return true;
+        }
+
+        /**
+         * Reports the area changed by the last {@link #onFrame}, in {@link LoadonDrawable}
+         * coordinates. Defaults to the whole drawing rect.
+         */
+        void getFrameDirtyBounds(@NonNull LoadonDrawable loadonDrawable, @NonNull Rect outDirtyBounds) {
+            loadonDrawable.getDrawingRect(dirtyRect);
+            dirtyRect.roundOut(outDirtyBounds);
+        }
+
+        /**
+         * See {@link LoadonIndicator#releaseDrawingCaches}.
+         */
+        void releaseDrawingCaches() { }
 
         abstract void onSuccess();
 
         abstract void onFailure();
 
-        public abstract void draw(@NonNull Loadon loadon, @NonNull Canvas canvas);
+        public abstract void draw(@NonNull LoadonDrawable loadonDrawable, @NonNull Canvas canvas);
 
     }
 
@@ -575,32 +713,38 @@ public class Loadon extends View implements Shapeable {
 
         private static final float STROKE_SIZE = 10f;
 
-        private static final float MIN_ARC_ANGLE = 30f;
-        private static final float FULL_ARC_ANGLE = 270f;
-
-        private static final float START_ANIMATION_VALUE = 0f;
-        private static final float END_ANIMATION_VALUE = 8f;
-
         private static final long ANIMATION_DURATION = 8000L;
 
+        private static final long ICON_ANIMATION_DURATION = 400L;
+
         @NonNull
         private final RectF indicatorRect = new RectF();
 
+        @NonNull
+        private final Bounds drawingBounds = new Bounds();
+
+        @NonNull
+        private final ArcGeometry.Frame arcFrame = new ArcGeometry.Frame();
+
         @NonNull
         private final Paint paint = new Paint();
 
         private float currentAnimatedValue = 0f;
 
-        private int successIconAnimatedValue;
+        private float successIconAnimatedValue;
 
-        @NonNull
-        private final ValueAnimator indicatorAnimator = new ValueAnimator();
+        private float failureIconAnimatedValue;
 
         @NonNull
-        private final ValueAnimator successIconAnimator = new ValueAnimator();
+        private final PathMeasure iconPathMeasure = new PathMeasure();
 
         @NonNull
-        private final ValueAnimator failureIconAnimator = new ValueAnimator();
+        private final Path iconSegmentPath = new Path();
+
+        private boolean isRenderNodeCacheEnabled = true;
+
+        @Nullable
+        private ArcRenderNodeCache arcRenderNodeCache;
 
 
         public DefaultProgressIndicator(@NonNull Context context) {
@@ -615,21 +759,6 @@ public class Loadon extends View implements Shapeable {
         ) {
             super(context, attrs, defStyleAttr, defStyleRes);
             initPaint();
-            initIndicatorAnimator();
-            initSuccessIconAnimator();
-            initFailureIconAnimator();
-        }
-
-        private void initIndicatorAnimator() {
-            indicatorAnimator.setFloatValues(START_ANIMATION_VALUE, END_ANIMATION_VALUE);
-            indicatorAnimator.setRepeatCount(ValueAnimator.INFINITE);
-            indicatorAnimator.setRepeatMode(ValueAnimator.RESTART);
-            indicatorAnimator.setInterpolator(new LinearInterpolator());
-            indicatorAnimator.setDuration(ANIMATION_DURATION);
-            indicatorAnimator.addUpdateListener(animation -> {
-                currentAnimatedValue = (float) animation.getAnimatedValue();
-                requestDraw();
-            });
         }
 
         private void initPaint() {
@@ -640,86 +769,167 @@ public class Loadon extends View implements Shapeable {
             paint.setStrokeCap(Paint.Cap.ROUND);
         }
 
-        private void initSuccessIconAnimator() {
-            successIconAnimator.setIntValues(0, 100);
-            successIconAnimator.setDuration(5000);
-            successIconAnimator.addUpdateListener(animation -> {
-                successIconAnimatedValue = (int) animation.getAnimatedValue();
-                requestDraw();
-            });
-        }
 
-        private void initFailureIconAnimator() {
+        /**
+         * Enables drawing of the indicator arc from pre-recorded {@link android.graphics.RenderNode}s
+         * on API 29+ hardware accelerated canvases. Enabled by default; on older APIs or
+         * software canvases the arc is always drawn directly.
+         */
+        public void setRenderNodeCacheEnabled(boolean isRenderNodeCacheEnabled) {
+            this.isRenderNodeCacheEnabled = isRenderNodeCacheEnabled;
+            if (!isRenderNodeCacheEnabled) {
+                releaseDrawingCaches();
+            }
+        }
 
+        public boolean isRenderNodeCacheEnabled() {
+            return isRenderNodeCacheEnabled;
         }
 
 
-        @NonNull
         @Override
-        ValueAnimator getAnimator() {
-            return indicatorAnimator;
+        boolean onFrame(@NonNull LoadonState state, long stateTime) {
+            switch (state) {
+                case LOADING: {
+                    currentAnimatedValue = ArcGeometry.getAnimatedValue(stateTime, ANIMATION_DURATION);
+                    return true;
+                }
+                case SUCCEED: {
+                    successIconAnimatedValue = getIconAnimatedValue(stateTime);
+                    return stateTime < ICON_ANIMATION_DURATION;
+                }
+                case FAILED: {
+                    failureIconAnimatedValue = getIconAnimatedValue(stateTime);
+                    return stateTime < ICON_ANIMATION_DURATION;
+                }
+                default: {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        void getFrameDirtyBounds(@NonNull LoadonDrawable loadonDrawable, @NonNull Rect outDirtyBounds) {
+            super.getFrameDirtyBounds(loadonDrawable, outDirtyBounds);
+            // Round caps may stick out of the drawing rect by half of the stroke
+            final int strokeOutset = (int) Math.ceil(STROKE_SIZE / 2f);
+            outDirtyBounds.inset(-strokeOutset, -strokeOutset);
+        }
+
+        /**
+         * Discards the recorded arcs, up to one display list per sweep bucket, once they're
+         * not drawn. Called on detach of the host view or when the indicator is replaced;
+         * the cache is kept across loading sessions otherwise.
+         */
+        @Override
+        void releaseDrawingCaches() {
+            if (arcRenderNodeCache != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                arcRenderNodeCache.discardAll();
+            }
+            arcRenderNodeCache = null;
         }
 
         @Override
         public void onSuccess() {
-            successIconAnimator.start();
+            successIconAnimatedValue = 0f;
         }
 
         @Override
         public void onFailure() {
-            failureIconAnimator.start();
+            failureIconAnimatedValue = 0f;
         }
 
         @Override
-        public void draw(@NonNull Loadon loadon, @NonNull Canvas canvas) {
-            switch (loadon.state) {
+        public void draw(@NonNull LoadonDrawable loadonDrawable, @NonNull Canvas canvas) {
+            switch (loadonDrawable.getLoadonState()) {
                 case LOADING: {
-                    drawIndicator(loadon, canvas);
+                    drawIndicator(loadonDrawable, canvas);
                     return;
                 }
                 case SUCCEED: {
-                    drawSuccessIcon(loadon, canvas);
+                    drawSuccessIcon(loadonDrawable, canvas);
                     return;
                 }
                 case FAILED: {
-                    drawFailureIcon(loadon, canvas);
+                    drawFailureIcon(loadonDrawable, canvas);
                     return;
                 }
                 default: { }
             }
         }
 
-        private void drawIndicator(@NonNull Loadon loadon, @NonNull Canvas canvas) {
-            loadon.getDrawingRect(indicatorRect);
-            indicatorRect.inset(STROKE_SIZE, STROKE_SIZE);
+        private void drawIndicator(@NonNull LoadonDrawable loadonDrawable, @NonNull Canvas canvas) {
+            loadonDrawable.getDrawingRect(indicatorRect);
+            drawingBounds.set(indicatorRect.left, indicatorRect.top, indicatorRect.right, indicatorRect.bottom);
+            ArcGeometry.compute(drawingBounds, STROKE_SIZE, currentAnimatedValue, arcFrame);
+            final Bounds oval = arcFrame.oval;
+            indicatorRect.set(oval.left, oval.top, oval.right, oval.bottom);
 
-            final int iteration = (int) currentAnimatedValue / 2;
-            final float animValue = currentAnimatedValue - iteration * 2f;
+            if (shouldUseRenderNodeCache(canvas)) {
+                if (arcRenderNodeCache == null) {
+                    arcRenderNodeCache = new ArcRenderNodeCache(
+                            ArcGeometry.MIN_ARC_ANGLE,
+                            ArcGeometry.FULL_ARC_ANGLE + ArcGeometry.MIN_ARC_ANGLE
+                    );
+                }
+                // Rotating the whole arc by its start angle gives the same picture as drawing
+                // it from startAngle, so the recorded arc always starts at 0
+                arcRenderNodeCache.draw(
+                        canvas,
+                        indicatorRect,
+                        paint,
+                        arcFrame.rotationAngle + arcFrame.startAngle,
+                        arcFrame.sweepAngle
+                );
+                return;
+            }
 
             canvas.save();
+            canvas.rotate(arcFrame.rotationAngle, indicatorRect.centerX(), indicatorRect.centerY());
+            canvas.drawArc(indicatorRect, arcFrame.startAngle, arcFrame.sweepAngle, false, paint);
+            canvas.restore();
+        }
 
-            final float rotationAngle = -90f * iteration + 360f * animValue;
-            canvas.rotate(rotationAngle, indicatorRect.centerX(), indicatorRect.centerY());
-
-            final float startAngle = animValue <= 1f
-                    ? 0f
-                    : FULL_ARC_ANGLE * (animValue - 1f);
-            final float sweepAngle = animValue <= 1f
-                    ? FULL_ARC_ANGLE * animValue + MIN_ARC_ANGLE
-                    : FULL_ARC_ANGLE * (2f - animValue) + MIN_ARC_ANGLE;
-            canvas.drawArc(indicatorRect, startAngle, sweepAngle, false, paint);
+        private boolean shouldUseRenderNodeCache(@NonNull Canvas canvas) {
+            return isRenderNodeCacheEnabled
+                    && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                    && canvas.isHardwareAccelerated();
+        }
 
-            canvas.restore();
+        private float getIconAnimatedValue(long stateTime) {
+            final float fraction = Interpolation.clampFraction((float) stateTime / ICON_ANIMATION_DURATION);
+            return Interpolation.decelerate(fraction);
         }
 
-        private void drawSuccessIcon(@NonNull Loadon loadon, @NonNull Canvas canvas) {
-            loadon.getDrawingRect(indicatorRect);
-            float multiplier = successIconAnimatedValue / 100f;
-            canvas.drawCircle(indicatorRect.centerX(), indicatorRect.centerY(), loadon.getWidth() / 2f * multiplier, paint);
+        private void drawSuccessIcon(@NonNull LoadonDrawable loadonDrawable, @NonNull Canvas canvas) {
+            final OutcomeIconPaths iconPaths = getIconPaths(loadonDrawable);
+            drawIcon(canvas, iconPaths.successPath, iconPaths.successLength, successIconAnimatedValue);
         }
 
-        private void drawFailureIcon(@NonNull Loadon loadon, @NonNull Canvas canvas) {
+        private void drawFailureIcon(@NonNull LoadonDrawable loadonDrawable, @NonNull Canvas canvas) {
+            final OutcomeIconPaths iconPaths = getIconPaths(loadonDrawable);
+            drawIcon(canvas, iconPaths.failurePath, iconPaths.failureLength, failureIconAnimatedValue);
+        }
 
+        @NonNull
+        private OutcomeIconPaths getIconPaths(@NonNull LoadonDrawable loadonDrawable) {
+            loadonDrawable.getDrawingRect(indicatorRect);
+            final int size = (int) Math.min(indicatorRect.width(), indicatorRect.height());
+            return OutcomeIconPaths.get(size);
+        }
+
+        private void drawIcon(@NonNull Canvas canvas, @NonNull Path path, float pathLength, float progress) {
+            OutcomeIconPaths.drawTrimmed(
+                    canvas,
+                    path,
+                    pathLength,
+                    progress,
+                    indicatorRect.centerX(),
+                    indicatorRect.centerY(),
+                    iconPathMeasure,
+                    iconSegmentPath,
+                    paint
+            );
         }
 
     }
@@ -727,13 +937,11 @@ public class Loadon extends View implements Shapeable {
 
     static class SavedState extends AbsSavedState {
 
-        State state;
-
-        int x;
+        LoadonState state;
 
         long sizeAnimationPlayTime;
 
-        long indicatorAnimationPlayTime;
+        long stateTime;
 
         public SavedState(Parcelable superState) {
             super(superState);
@@ -751,16 +959,14 @@ public class Loadon extends View implements Shapeable {
         public void writeToParcel(@NonNull Parcel out, int flags) {
             super.writeToParcel(out, flags);
             out.writeInt(state.ordinal());
-            out.writeInt(x);
             out.writeLong(sizeAnimationPlayTime);
-            out.writeLong(indicatorAnimationPlayTime);
+            out.writeLong(stateTime);
         }
 
         private void readFromParcel(@NonNull Parcel in) {
-            state = State.values()[in.readInt()];
-            x = in.readInt();
+            state = LoadonState.values()[in.readInt()];
             sizeAnimationPlayTime = in.readLong();
-            indicatorAnimationPlayTime = in.readLong();
+            stateTime = in.readLong();
         }
 
         public static final Creator<SavedState> CREATOR =
@@ -5,6 +5,7 @@ import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
 import android.graphics.Color;
 import android.graphics.PorterDuff;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.RippleDrawable;
 import android.util.AttributeSet;
@@ -13,7 +14,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.graphics.drawable.DrawableCompat;
 
+import com.google.android.material.shape.CornerSize;
+import com.google.android.material.shape.EdgeTreatment;
 import com.google.android.material.shape.MaterialShapeDrawable;
+import com.google.android.material.shape.RoundedCornerTreatment;
 import com.google.android.material.shape.ShapeAppearanceModel;
 
 class LoadonBackgroundHelper {
@@ -24,6 +28,9 @@ class LoadonBackgroundHelper {
     @NonNull
     private ShapeAppearanceModel shapeAppearanceModel;
 
+    @NonNull
+    private final CornerMorph cornerMorph;
+
     @Nullable
     private RippleDrawable rippleDrawable;
 
@@ -38,6 +45,11 @@ class LoadonBackgroundHelper {
 
     private boolean isUserBackgroundSet;
 
+    private boolean isSinglePassEnabled;
+
+    @NonNull
+    private final RectF shapeBounds = new RectF();
+
 
     public LoadonBackgroundHelper(
             @NonNull Loadon loadon,
@@ -51,6 +63,7 @@ class LoadonBackgroundHelper {
         shapeAppearanceModel = ShapeAppearanceModel
                 .builder(context, attrs, defStyleAttr, defStyleRes)
                 .build();
+        cornerMorph = new CornerMorph(shapeAppearanceModel);
 
         TypedArray ta = context.getTheme().obtainStyledAttributes(
                 attrs,
@@ -81,6 +94,62 @@ class LoadonBackgroundHelper {
         return isUserBackgroundSet;
     }
 
+    /**
+     * Hands the view background over to the user for good: the ripple is no longer
+     * set, and single-pass switching stays off.
+     */
+    public void setUserBackgroundSet() {
+        isUserBackgroundSet = true;
+        isSinglePassEnabled = false;
+    }
+
+    public boolean isRippleNeeded() {
+        return rippleColor != null;
+    }
+
+    /**
+     * @return whether Loadon may fill its shape itself instead of using the layered
+     * ripple background: the background is ours, the shape is a plain rounded rect and
+     * the tint replaces the shape color, so a flat fill looks the same
+     */
+    public boolean canDrawInSinglePass() {
+        if (isUserBackgroundSet || rippleDrawable == null) {
+            return false;
+        }
+        if (backgroundTintMode != null && backgroundTintMode != PorterDuff.Mode.SRC_IN) {
+            return false;
+        }
+        shapeBounds.set(0, 0, loadon.getWidth(), loadon.getHeight());
+        return isRoundRect(shapeAppearanceModel, shapeBounds);
+    }
+
+    /**
+     * Removes the layered ripple background from the view while enabled, so the shape is
+     * drawn only by the view itself. Switching re-sets the view background, which requests
+     * a layout, so it's meant for state changes rather than frames.
+     */
+    public void setSinglePassEnabled(boolean isSinglePassEnabled) {
+        if (this.isSinglePassEnabled == isSinglePassEnabled || isUserBackgroundSet) {
+            return;
+        }
+        this.isSinglePassEnabled = isSinglePassEnabled;
+        if (!isSinglePassEnabled) {
+            // Corners may have morphed while the paths were not drawn
+            invalidateShapes();
+        }
+        loadon.setBackgroundInternal(isSinglePassEnabled ? null : rippleDrawable);
+    }
+
+    @NonNull
+    public CornerSize getCornerSize() {
+        return shapeAppearanceModel.getTopLeftCornerSize();
+    }
+
+    @Nullable
+    public ColorStateList getBackgroundTint() {
+        return backgroundTint;
+    }
+
     @NonNull
     public ShapeAppearanceModel getShapeAppearanceModel() {
         return shapeAppearanceModel;
@@ -88,12 +157,20 @@ class LoadonBackgroundHelper {
 
     public void setShapeAppearanceModel(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
         this.shapeAppearanceModel = shapeAppearanceModel;
-        updateShape(shapeAppearanceModel);
+        cornerMorph.setShapeAppearanceModel(shapeAppearanceModel);
+        updateShape(cornerMorph.getMorphingModel());
     }
 
-    public void setBackgroundColor(int color) {
-        if (getBackgroundDrawable() != null) {
-            getBackgroundDrawable().setTint(color);
+    /**
+     * Morphs the background corners towards a circle. Updates the existing corner sizes and
+     * marks the shape paths dirty; each path rebuild makes MaterialShapeDrawable build a stroke
+     * model, so the paths are left alone while the single-pass mode doesn't draw them.
+     *
+     * @param collapseProgress 0 when expanded, 1 when collapsed
+     */
+    public void setCornerMorphProgress(float collapseProgress) {
+        if (cornerMorph.setProgress(collapseProgress) && !isSinglePassEnabled) {
+            invalidateShapes();
         }
     }
 
@@ -118,10 +195,34 @@ class LoadonBackgroundHelper {
     }
 
 
+    /**
+     * Rounded corners of the same size and straight edges, which is all a round rect fill
+     * can draw. ShapeAppearanceModel has the same check, but it's not a public API.
+     */
+    private static boolean isRoundRect(@NonNull ShapeAppearanceModel model, @NonNull RectF bounds) {
+        final boolean hasStraightEdges = model.getLeftEdge().getClass() == EdgeTreatment.class
+                && model.getTopEdge().getClass() == EdgeTreatment.class
+                && model.getRightEdge().getClass() == EdgeTreatment.class
+                && model.getBottomEdge().getClass() == EdgeTreatment.class;
+        final boolean hasRoundedCorners = model.getTopLeftCorner() instanceof RoundedCornerTreatment
+                && model.getTopRightCorner() instanceof RoundedCornerTreatment
+                && model.getBottomRightCorner() instanceof RoundedCornerTreatment
+                && model.getBottomLeftCorner() instanceof RoundedCornerTreatment;
+        final float cornerSize = model.getTopLeftCornerSize().getCornerSize(bounds);
+        return hasStraightEdges
+                && hasRoundedCorners
+                && model.getTopRightCornerSize().getCornerSize(bounds) == cornerSize
+                && model.getBottomRightCornerSize().getCornerSize(bounds) == cornerSize
+                && model.getBottomLeftCornerSize().getCornerSize(bounds) == cornerSize;
+    }
+
     @NonNull
     private RippleDrawable createBackground() {
-        MaterialShapeDrawable backgroundDrawable = new MaterialShapeDrawable(shapeAppearanceModel);
-        MaterialShapeDrawable maskDrawable = new MaterialShapeDrawable(shapeAppearanceModel);
+        final ShapeAppearanceModel morphingModel = cornerMorph.getMorphingModel();
+        MaterialShapeDrawable backgroundDrawable = new MaterialShapeDrawable(morphingModel);
+        DrawableCompat.setTintList(backgroundDrawable, backgroundTint);
+        DrawableCompat.setTintMode(backgroundDrawable, backgroundTintMode);
+        MaterialShapeDrawable maskDrawable = new MaterialShapeDrawable(morphingModel);
         rippleDrawable =
                 new RippleDrawable(
                         sanitizeRippleDrawableColor(rippleColor),
@@ -151,6 +252,17 @@ class LoadonBackgroundHelper {
         }
     }
 
+    private void invalidateShapes() {
+        final MaterialShapeDrawable backgroundDrawable = getBackgroundDrawable();
+        if (backgroundDrawable != null) {
+            backgroundDrawable.invalidateSelf();
+        }
+        final MaterialShapeDrawable maskDrawable = getMaskDrawable();
+        if (maskDrawable != null) {
+            maskDrawable.invalidateSelf();
+        }
+    }
+
     @Nullable
     private MaterialShapeDrawable getBackgroundDrawable() {
         if (rippleDrawable != null && rippleDrawable.getNumberOfLayers() > 0) {
@@ -167,7 +279,7 @@ class LoadonBackgroundHelper {
         return null;
     }
 
-    public PorterDuff.Mode parseTintMode(int value, PorterDuff.Mode defaultMode) {
+    static PorterDuff.Mode parseTintMode(int value, PorterDuff.Mode defaultMode) {
         switch (value) {
             case 3:
                 return PorterDuff.Mode.SRC_OVER;
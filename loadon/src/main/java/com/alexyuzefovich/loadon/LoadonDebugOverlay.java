@@ -0,0 +1,170 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Debug HUD drawn over a {@link Loadon}: state, text layout rebuilds, redraws per second,
+ * a flash on every measure and a warning when the view animates while detached or off-screen.
+ * <p>
+ * Off until the app opts in with {@link Loadon#setDebugOverlayEnabled}; until then views
+ * don't create an overlay, and its hooks cost them a volatile read.
+ */
+final class LoadonDebugOverlay {
+
+    private static final String TAG = "LoadonDebugOverlay";
+
+    private static final long MEASURE_FLASH_DURATION = 300L;
+
+    private static final long REDRAW_RATE_WINDOW = 1000L;
+
+    private static final int MEASURE_FLASH_COLOR = 0xFF00E5FF;
+
+    private static final int WARNING_COLOR = 0x66FF1744;
+
+    private static volatile boolean isEnabled;
+
+    @NonNull
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    @NonNull
+    private final Paint backgroundPaint = new Paint();
+
+    @NonNull
+    private final Paint flashPaint = new Paint();
+
+    @NonNull
+    private final Paint warningPaint = new Paint();
+
+    @NonNull
+    private final Rect visibleRect = new Rect();
+
+    private long lastMeasureTime = -MEASURE_FLASH_DURATION;
+
+    private long redrawWindowStartTime;
+    private int redrawCountInWindow;
+    private int redrawsPerSecond;
+
+    @Nullable
+    private String warning;
+
+    /**
+     * Whether the pending redraw was requested only by the overlay itself, to animate the
+     * measure flash. Such redraws are not counted, so the HUD doesn't inflate the rate.
+     */
+    private boolean isOwnRedrawPending;
+
+
+    LoadonDebugOverlay(@NonNull View view) {
+        final float density = view.getResources().getDisplayMetrics().density;
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextSize(10f * density);
+        backgroundPaint.setColor(0xB3000000);
+        flashPaint.setStyle(Paint.Style.STROKE);
+        flashPaint.setStrokeWidth(2f * density);
+        warningPaint.setColor(WARNING_COLOR);
+    }
+
+
+    static void setEnabled(boolean isEnabled) {
+        LoadonDebugOverlay.isEnabled = isEnabled;
+    }
+
+    static boolean isEnabled() {
+        return isEnabled;
+    }
+
+
+    void onMeasure() {
+        lastMeasureTime = SystemClock.uptimeMillis();
+        isOwnRedrawPending = false;
+    }
+
+    void onAttachedToWindow() {
+        warning = null;
+    }
+
+    /**
+     * Called whenever the view's drawable invalidates it, for any reason.
+     */
+    void onDrawableInvalidated() {
+        isOwnRedrawPending = false;
+    }
+
+    /**
+     * Called on every state machine frame of the view's drawable. Only these frames are
+     * checked, as one-off invalidations (text or state changes of an item being bound)
+     * are expected while detached.
+     */
+    void onAnimationFrame(@NonNull View view) {
+        final String frameWarning;
+        if (!view.isAttachedToWindow()) {
+            frameWarning = "ANIMATING DETACHED";
+        } else if (!view.isShown() || !view.getGlobalVisibleRect(visibleRect)) {
+            frameWarning = "ANIMATING OFF-SCREEN";
+        } else {
+            frameWarning = null;
+        }
+        if (frameWarning != null && !frameWarning.equals(warning)) {
+            Log.w(TAG, frameWarning + ": " + view);
+        }
+        warning = frameWarning;
+    }
+
+    void draw(@NonNull View view, @NonNull Canvas canvas, @NonNull LoadonDrawable loadonDrawable) {
+        final long now = SystemClock.uptimeMillis();
+        updateRedrawRate(now, !isOwnRedrawPending);
+        isOwnRedrawPending = false;
+
+        final int width = view.getWidth();
+        final int height = view.getHeight();
+
+        if (warning != null) {
+            canvas.drawRect(0f, 0f, width, height, warningPaint);
+        }
+
+        final long measureAge = now - lastMeasureTime;
+        if (measureAge < MEASURE_FLASH_DURATION) {
+            final int flashAlpha = (int) (255 * (1f - (float) measureAge / MEASURE_FLASH_DURATION));
+            flashPaint.setColor(MEASURE_FLASH_COLOR);
+            flashPaint.setAlpha(flashAlpha);
+            final float inset = flashPaint.getStrokeWidth() / 2f;
+            canvas.drawRect(inset, inset, width - inset, height - inset, flashPaint);
+            isOwnRedrawPending = true;
+            view.postInvalidateOnAnimation();
+        }
+
+        final String firstLine = warning != null
+                ? loadonDrawable.getLoadonState() + " " + warning
+                : loadonDrawable.getLoadonState().toString();
+        final String secondLine = "layouts " + loadonDrawable.getTextLayoutBuildCount()
+                + "  draws " + redrawsPerSecond + "/s";
+        final float lineHeight = textPaint.getFontSpacing();
+        final float textWidth = Math.max(textPaint.measureText(firstLine), textPaint.measureText(secondLine));
+        canvas.drawRect(0f, 0f, textWidth + lineHeight / 2f, lineHeight * 2.25f, backgroundPaint);
+        canvas.drawText(firstLine, lineHeight / 4f, lineHeight, textPaint);
+        canvas.drawText(secondLine, lineHeight / 4f, lineHeight * 2f, textPaint);
+    }
+
+
+    private void updateRedrawRate(long now, boolean isCounted) {
+        if (isCounted) {
+            redrawCountInWindow++;
+        }
+        final long windowDuration = now - redrawWindowStartTime;
+        if (windowDuration >= REDRAW_RATE_WINDOW) {
+            redrawsPerSecond = (int) (redrawCountInWindow * 1000L / windowDuration);
+            redrawCountInWindow = 0;
+            redrawWindowStartTime = now;
+        }
+    }
+
+}
@@ -0,0 +1,1117 @@
+package com.alexyuzefovich.loadon;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.graphics.drawable.DrawableCompat;
+
+import com.alexyuzefovich.loadon.core.CollapseGeometry;
+import com.alexyuzefovich.loadon.core.FrameClock;
+import com.alexyuzefovich.loadon.core.LoadonState;
+import com.alexyuzefovich.loadon.core.LoadonStateMachine;
+import com.alexyuzefovich.loadon.core.ManualFrameClock;
+import com.google.android.material.shape.CornerSize;
+import com.google.android.material.shape.ShapeAppearanceModel;
+
+
+/**
+ * View-less Loadon renderer. Holds the label, optional background, state machine and
+ * progress indicator, and draws them into any {@link Canvas} within its bounds.
+ * <p>
+ * While collapsed or animating, the drawable paints its content centered in its bounds
+ * with the current animated width, so hosts which don't resize (e.g. list cells or item
+ * decorations) can simply draw it. Hosts which do resize, like {@link Loadon}, listen to
+ * {@link OnSizeChangeListener} and re-measure. Hit-testing is up to the host, see
+ * {@link #hitTest(float, float)}.
+ */
+public class LoadonDrawable extends Drawable implements Drawable.Callback {
+
+    public interface OnSizeChangeListener {
+        void onAnimatedWidthChanged(@NonNull LoadonDrawable loadonDrawable);
+    }
+
+    public interface OnStateChangeListener {
+        void onStateChanged(@NonNull LoadonDrawable loadonDrawable);
+    }
+
+    /**
+     * Called at the end of every state machine frame, i.e. only while the drawable animates.
+     */
+    interface OnFrameListener {
+        void onFrame(@NonNull LoadonDrawable loadonDrawable);
+    }
+
+    /**
+     * Called on the main thread once a font resource has loaded. The host then calls
+     * {@link #applyPendingTypeface} on the thread owning the drawable.
+     */
+    interface OnFontLoadedListener {
+        void onFontLoaded(@NonNull LoadonDrawable loadonDrawable);
+    }
+
+
+    static final float DEFAULT_TEXT_SIZE = 15f;
+    static final int DEFAULT_TEXT_COLOR = Color.BLACK;
+
+    private static final float DEFAULT_AUTO_SIZE_MIN_TEXT_SIZE = 12f;
+
+    /**
+     * Skipped head of the eased size animation, so the frame applied at the call already
+     * moves the width by about 5% of the way instead of a fraction of a pixel.
+     */
+    private static final long SIZE_ANIMATION_START_OFFSET = 75L;
+
+
+    @NonNull
+    private String text = "";
+    private float textSize = DEFAULT_TEXT_SIZE;
+    private int textColor = DEFAULT_TEXT_COLOR;
+
+    private final TextPaint textPaint = new TextPaint();
+
+    private StaticLayout textLayout;
+
+    private int textWidth;
+    private int textHeight;
+
+    /**
+     * Picks {@link #textSize} to fit the host width, or null if auto-size is disabled.
+     */
+    @Nullable
+    private TextAutoSizer textAutoSizer;
+
+    /**
+     * Receives the font resource while it loads. {@link FontCache} holds callbacks weakly,
+     * so this reference keeps it alive exactly as long as the drawable.
+     */
+    @Nullable
+    private FontCache.Callback fontCallback;
+
+    /**
+     * Font delivered by {@link FontCache} but not applied yet, see {@link #applyPendingTypeface}.
+     */
+    @Nullable
+    private volatile Typeface pendingTypeface;
+
+    @Nullable
+    private final OnFontLoadedListener onFontLoadedListener;
+
+    /**
+     * Text whose width was last measured by {@link #fitTextSize}.
+     */
+    @Nullable
+    private String fittedText;
+
+    /**
+     * Whether the label has to be measured again once back in the normal state,
+     * e.g. because its typeface changed while loading.
+     */
+    private boolean isTextRemeasurePending;
+
+    /**
+     * Number of text layouts built so far, shown by the debug HUD.
+     */
+    private int textLayoutBuildCount;
+
+    @NonNull
+    private final Rect padding = new Rect();
+
+    @NonNull
+    private final RectF contentRect = new RectF();
+
+    /**
+     * Area to invalidate, merged from all requests since the last invalidation.
+     */
+    @NonNull
+    private final Rect dirtyBounds = new Rect();
+
+    @NonNull
+    private final Rect indicatorDirtyBounds = new Rect();
+
+    private boolean isFlushingDirtyBounds;
+
+    @Nullable
+    private Drawable background;
+
+    /**
+     * Corner size of the shape filled directly by this drawable, or null to draw
+     * {@link #background} instead. See {@link #setShapeFill}.
+     */
+    @Nullable
+    private CornerSize shapeFillCornerSize;
+
+    @Nullable
+    private ColorStateList shapeFillColor;
+
+    @NonNull
+    private final Paint shapeFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private int alpha = 255;
+
+    @NonNull
+    private LoadonState state = LoadonState.NORMAL;
+
+    private int currentAnimatedWidth;
+
+    // Bounds width the label was last laid out for in onBoundsChange
+    private int layoutBoundsWidth = -1;
+
+    @NonNull
+    private final CollapseGeometry.Frame collapseFrame = new CollapseGeometry.Frame();
+
+    @NonNull
+    private final LoadonStateMachine stateMachine =
+            new LoadonStateMachine(ChoreographerFrameClock.getInstance());
+
+    @NonNull
+    private LoadonIndicator indicator;
+
+    @NonNull
+    private final RectF indicatorRect = new RectF();
+
+    @Nullable
+    private OnSizeChangeListener onSizeChangeListener;
+
+    @Nullable
+    private OnStateChangeListener onStateChangeListener;
+
+    @Nullable
+    private OnFrameListener onFrameListener;
+
+
+    public LoadonDrawable(@NonNull Context context) {
+        this(context, null, R.attr.loadonStyle, R.style.Loadon);
+    }
+
+    public LoadonDrawable(
+            @NonNull Context context,
+            @Nullable AttributeSet attrs,
+            int defStyleAttr,
+            int defStyleRes
+    ) {
+        this(context, attrs, defStyleAttr, defStyleRes, context.getClassLoader(), null);
+        initBackgroundFromAttrs(context, attrs, defStyleAttr, defStyleRes);
+    }
+
+    LoadonDrawable(
+            @NonNull Context context,
+            @Nullable AttributeSet attrs,
+            int defStyleAttr,
+            int defStyleRes,
+            @NonNull ClassLoader classLoader,
+            @Nullable OnFontLoadedListener onFontLoadedListener
+    ) {
+        this.onFontLoadedListener = onFontLoadedListener;
+        indicator = wrapIndicator(initFromAttrs(context, attrs, defStyleAttr, defStyleRes, classLoader));
+        initStateMachine();
+    }
+
+    @NonNull
+    private Object initFromAttrs(
+            @NonNull Context context,
+            @Nullable AttributeSet attrs,
+            int defStyleAttr,
+            int defStyleRes,
+            @NonNull ClassLoader classLoader
+    ) {
+        TypedArray ta = context.getTheme().obtainStyledAttributes(
+                attrs,
+                R.styleable.Loadon,
+                defStyleAttr,
+                defStyleRes
+        );
+
+        final String attrText = ta.getString(R.styleable.Loadon_text);
+        text = attrText != null ? attrText : "";
+        textSize = ta.getDimension(R.styleable.Loadon_textSize, DEFAULT_TEXT_SIZE);
+        textColor = ta.getColor(R.styleable.Loadon_textColor, DEFAULT_TEXT_COLOR);
+
+        textPaint.setTextSize(textSize);
+        textPaint.setColor(textColor);
+        textPaint.setAntiAlias(true);
+        initTypeface(context, ta);
+
+        // Initially we set textWidth as full text width in one line (without line breaks).
+        // In measure we'll get final host desired (or max) width, so we can set correct width.
+        textWidth = (int) textPaint.measureText(text);
+
+        if (ta.hasValue(R.styleable.Loadon_autoSizeMinTextSize)
+                || ta.hasValue(R.styleable.Loadon_autoSizeMaxTextSize)) {
+            final DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+            final float defaultMinTextSize = TypedValue.applyDimension(
+                    TypedValue.COMPLEX_UNIT_SP,
+                    DEFAULT_AUTO_SIZE_MIN_TEXT_SIZE,
+                    displayMetrics
+            );
+            final float minTextSize = ta.getDimension(R.styleable.Loadon_autoSizeMinTextSize, defaultMinTextSize);
+            final float maxTextSize = ta.getDimension(
+                    R.styleable.Loadon_autoSizeMaxTextSize,
+                    Math.max(textSize, minTextSize)
+            );
+            final float stepGranularity = ta.getDimension(R.styleable.Loadon_autoSizeStepGranularity, 1f);
+            textAutoSizer = new TextAutoSizer(minTextSize, maxTextSize, stepGranularity);
+        }
+
+        final String progressIndicatorClassName = ta.getString(R.styleable.Loadon_progressIndicator);
+        final Object progressIndicator = ProgressIndicatorFactory.create(
+                context,
+                progressIndicatorClassName,
+                attrs,
+                defStyleAttr,
+                defStyleRes,
+                classLoader
+        );
+
+        ta.recycle();
+
+        return progressIndicator != null
+                ? progressIndicator
+                : new Loadon.DefaultProgressIndicator(context);
+    }
+
+    /**
+     * A drawable used on its own has no view to draw the style's background, so it draws it
+     * itself: the {@code android:background} drawable if set, otherwise a shape fill with the
+     * {@code shapeAppearance} corners and {@code android:backgroundTint}. There is no ripple,
+     * which needs a view. Loadon builds its background from the same attributes instead.
+     */
+    private void initBackgroundFromAttrs(
+            @NonNull Context context,
+            @Nullable AttributeSet attrs,
+            int defStyleAttr,
+            int defStyleRes
+    ) {
+        TypedArray ta = context.getTheme().obtainStyledAttributes(
+                attrs,
+                R.styleable.Loadon,
+                defStyleAttr,
+                defStyleRes
+        );
+
+        final ColorStateList backgroundTint = ta.getColorStateList(R.styleable.Loadon_android_backgroundTint);
+        final Drawable attrBackground = ta.getDrawable(R.styleable.Loadon_android_background);
+        if (attrBackground != null) {
+            if (backgroundTint != null) {
+                final Drawable tintedBackground = DrawableCompat.wrap(attrBackground.mutate());
+                DrawableCompat.setTintList(tintedBackground, backgroundTint);
+                DrawableCompat.setTintMode(
+                        tintedBackground,
+                        LoadonBackgroundHelper.parseTintMode(
+                                ta.getInt(R.styleable.Loadon_android_backgroundTintMode, -1),
+                                PorterDuff.Mode.SRC_IN
+                        )
+                );
+                setBackground(tintedBackground);
+            } else {
+                setBackground(attrBackground);
+            }
+        } else {
+            final ShapeAppearanceModel shapeAppearanceModel = ShapeAppearanceModel
+                    .builder(context, attrs, defStyleAttr, defStyleRes)
+                    .build();
+            setShapeFill(shapeAppearanceModel.getTopLeftCornerSize(), backgroundTint);
+        }
+
+        ta.recycle();
+    }
+
+    /**
+     * Resource fonts are loaded asynchronously: until one arrives, the label is drawn with
+     * the default family in the requested style, whose metrics are the closest we have
+     * without the font, and then it's measured once more with the real font.
+     */
+    private void initTypeface(@NonNull Context context, @NonNull TypedArray ta) {
+        final int textStyle = ta.getInt(R.styleable.Loadon_android_textStyle, Typeface.NORMAL);
+        final int fontResId = ta.getResourceId(R.styleable.Loadon_android_fontFamily, 0);
+        if (fontResId != 0 && "font".equals(context.getResources().getResourceTypeName(fontResId))) {
+            fontCallback = loadedFont -> {
+                fontCallback = null;
+                pendingTypeface = Typeface.create(loadedFont, textStyle);
+                if (onFontLoadedListener != null) {
+                    onFontLoadedListener.onFontLoaded(this);
+                } else {
+                    // Without a host the drawable is used on the main thread
+                    applyPendingTypeface();
+                }
+            };
+            final Typeface font = FontCache.getFont(context, fontResId, fontCallback);
+            if (font != null) {
+                fontCallback = null;
+            }
+            textPaint.setTypeface(Typeface.create(font, textStyle));
+            return;
+        }
+        final String fontFamily = ta.getString(R.styleable.Loadon_android_fontFamily);
+        if (fontFamily != null || textStyle != Typeface.NORMAL) {
+            textPaint.setTypeface(Typeface.create(fontFamily, textStyle));
+        }
+    }
+
+    private void initStateMachine() {
+        stateMachine.setSizeAnimationDuration(LoadonStateMachine.DEFAULT_SIZE_ANIMATION_DURATION);
+        stateMachine.setSizeAnimationStartOffset(SIZE_ANIMATION_START_OFFSET);
+        stateMachine.setListener(new LoadonStateMachine.Listener() {
+            @Override
+            public void onStateChanged(LoadonState from, LoadonState to) {
+                onTransition(to);
+            }
+
+            @Override
+            public boolean onFrame(LoadonStateMachine stateMachine) {
+                return onStateMachineFrame();
+            }
+        });
+    }
+
+
+    //TODO global fields textWidth textHeight not updating. Fix it
+    public void setText(@Nullable String text) {
+        this.text = text != null ? text : "";
+        applyTextChanges(true);
+    }
+
+    @NonNull
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Has no effect while auto-size is enabled, like in TextView.
+     */
+    public void setTextSize(float textSize) {
+        if (textAutoSizer != null) {
+            return;
+        }
+        this.textSize = textSize;
+        textPaint.setTextSize(textSize);
+        applyTextChanges(false);
+    }
+
+    /**
+     * Makes the label take the largest size from min to max (by step, all in px) at which it
+     * fits the host width in one line. The size is picked when the host measures in the
+     * normal state; the collapse animation scales from it.
+     */
+    public void setAutoSizeTextConfiguration(float minTextSize, float maxTextSize, float stepGranularity) {
+        textAutoSizer = new TextAutoSizer(minTextSize, maxTextSize, stepGranularity);
+        fittedText = null;
+        notifySizeChanged();
+    }
+
+    public void disableAutoSizeText() {
+        if (textAutoSizer != null) {
+            textAutoSizer = null;
+            notifySizeChanged();
+        }
+    }
+
+    public boolean isAutoSizeTextEnabled() {
+        return textAutoSizer != null;
+    }
+
+    /**
+     * Applies the font which finished loading after construction, if any. Called by the host
+     * on the thread owning the drawable, as it changes the label layout.
+     */
+    void applyPendingTypeface() {
+        final Typeface typeface = pendingTypeface;
+        if (typeface != null) {
+            pendingTypeface = null;
+            setTypeface(typeface);
+        }
+    }
+
+    /**
+     * Sets the label typeface. The label is measured again right away in the normal state,
+     * otherwise once loading ends.
+     */
+    public void setTypeface(@Nullable Typeface typeface) {
+        if (textPaint.getTypeface() == typeface) {
+            return;
+        }
+        textPaint.setTypeface(typeface);
+        if (state == LoadonState.NORMAL) {
+            remeasureText();
+            notifySizeChanged();
+        } else {
+            isTextRemeasurePending = true;
+        }
+        invalidateSelf();
+    }
+
+    @Nullable
+    public Typeface getTypeface() {
+        return textPaint.getTypeface();
+    }
+
+    public void setTextColor(int textColor) {
+        this.textColor = textColor;
+        textPaint.setColor(textColor);
+        applyTextChanges(false);
+    }
+
+    public void setProgressIndicator(@NonNull Loadon.ProgressIndicator progressIndicator) {
+        setIndicator(wrapIndicator(progressIndicator));
+    }
+
+    /**
+     * @return the indicator set with {@link #setProgressIndicator}, or null if
+     * a plain {@link LoadonIndicator} is used
+     */
+    @Nullable
+    public Loadon.ProgressIndicator getProgressIndicator() {
+        return indicator instanceof ProgressIndicatorAdapter
+                ? ((ProgressIndicatorAdapter) indicator).getProgressIndicator()
+                : null;
+    }
+
+    public void setIndicator(@NonNull LoadonIndicator indicator) {
+        if (this.indicator instanceof ProgressIndicatorAdapter) {
+            ((ProgressIndicatorAdapter) this.indicator).getProgressIndicator().setDrawingListener(null);
+        }
+        this.indicator.releaseDrawingCaches();
+        this.indicator = indicator;
+        if (state.isIndicationState()) {
+            indicator.update(state, stateMachine.getStateTime());
+        }
+        invalidateSelf();
+    }
+
+    @NonNull
+    public LoadonIndicator getIndicator() {
+        return indicator;
+    }
+
+    /**
+     * Sets the drawable painted behind the label and indicator. It's laid out over the
+     * current (possibly collapsed) content rect on every draw.
+     */
+    public void setBackground(@Nullable Drawable background) {
+        if (this.background == background) {
+            return;
+        }
+        if (this.background != null) {
+            this.background.setCallback(null);
+        }
+        this.background = background;
+        if (background != null) {
+            background.setCallback(this);
+            background.setState(getState());
+            background.setAlpha(alpha);
+        }
+        invalidateSelf();
+    }
+
+    @Nullable
+    public Drawable getBackground() {
+        return background;
+    }
+
+    /**
+     * Makes the drawable fill its (rounded rect) shape itself, in the same pass as the label
+     * and indicator, instead of drawing {@link #getBackground()}. Corners morph into a circle
+     * while collapsing. Pass a null corner size to go back to the background drawable.
+     *
+     * @param fillColor shape color, resolved against the drawable state; black if null
+     */
+    public void setShapeFill(@Nullable CornerSize cornerSize, @Nullable ColorStateList fillColor) {
+        shapeFillCornerSize = cornerSize;
+        shapeFillColor = fillColor;
+        updateShapeFillColor(getState());
+        invalidateSelf();
+    }
+
+    public boolean isShapeFillEnabled() {
+        return shapeFillCornerSize != null;
+    }
+
+    /**
+     * Sets the space between the content rect edges and the label or indicator.
+     */
+    public void setPadding(int left, int top, int right, int bottom) {
+        padding.set(left, top, right, bottom);
+    }
+
+    /**
+     * Sets the source of time and frames for all animations, e.g. a {@link ManualFrameClock}
+     * to step frames by hand in tests or offline rendering. Null restores the default
+     * vsync-driven clock.
+     */
+    public void setFrameClock(@Nullable FrameClock frameClock) {
+        stateMachine.setFrameClock(frameClock != null ? frameClock : ChoreographerFrameClock.getInstance());
+    }
+
+    @NonNull
+    public FrameClock getFrameClock() {
+        return stateMachine.getFrameClock();
+    }
+
+    /**
+     * While disabled, state changes still apply but animation frames are held back until
+     * re-enabled, when animations catch up with the elapsed time. Enabled by default; views
+     * hosting the drawable disable frames while detached from a window.
+     */
+    public void setFramesEnabled(boolean isFramesEnabled) {
+        stateMachine.setFramesEnabled(isFramesEnabled);
+    }
+
+    /**
+     * Releases the indicator's drawing caches, see {@link LoadonIndicator#releaseDrawingCaches}.
+     * Views hosting the drawable call it when detached from a window.
+     */
+    public void releaseDrawingCaches() {
+        indicator.releaseDrawingCaches();
+    }
+
+    public void setOnSizeChangeListener(@Nullable OnSizeChangeListener onSizeChangeListener) {
+        this.onSizeChangeListener = onSizeChangeListener;
+    }
+
+    public void setOnStateChangeListener(@Nullable OnStateChangeListener onStateChangeListener) {
+        this.onStateChangeListener = onStateChangeListener;
+    }
+
+    void setOnFrameListener(@Nullable OnFrameListener onFrameListener) {
+        this.onFrameListener = onFrameListener;
+    }
+
+    /**
+     * @return whether the point (in the same coordinates as bounds) lies inside
+     * the currently drawn, possibly collapsed, content rect
+     */
+    public boolean hitTest(float x, float y) {
+        updateContentRect();
+        return contentRect.contains(x, y);
+    }
+
+    public boolean isLoading() {
+        return state != LoadonState.NORMAL;
+    }
+
+    @NonNull
+    public LoadonState getLoadonState() {
+        return state;
+    }
+
+
+    public void startLoading() {
+        updateStateMachineWidths();
+        stateMachine.start();
+    }
+
+    public void stopLoading(boolean isSuccessful) {
+        stateMachine.stop(isSuccessful);
+    }
+
+    /**
+     * Brings the drawable back to its normal state. A running collapse is reversed
+     * from its current width instead of being restarted.
+     */
+    public void reset() {
+        updateStateMachineWidths();
+        stateMachine.reset();
+    }
+
+
+    /**
+     * @return width of the label with horizontal padding, i.e. the width of the normal state
+     */
+    public int getExpandedWidth() {
+        return textWidth + padding.left + padding.right;
+    }
+
+    /**
+     * @return width of the fully collapsed (loading) state
+     */
+    public int getCollapsedWidth() {
+        return textHeight + padding.left + padding.right;
+    }
+
+    public int getDesiredHeight() {
+        return textHeight + padding.top + padding.bottom;
+    }
+
+    /**
+     * @return width the host should currently have, taking the running size animation into account
+     */
+    public int getAnimatedWidth() {
+        return state == LoadonState.NORMAL ? getExpandedWidth() : currentAnimatedWidth;
+    }
+
+    /**
+     * @return 0 when expanded, 1 when fully collapsed, eased with the size animation curve
+     */
+    public float getCollapseProgress() {
+        return state == LoadonState.NORMAL ? 0f : stateMachine.getCollapseProgress();
+    }
+
+    boolean hasTextLayout() {
+        return textLayout != null;
+    }
+
+    /**
+     * Lays out the label for the first time within the given width (padding included).
+     * Afterwards expanded and collapsed widths reflect the real label size.
+     */
+    void makeInitialLayout(int availableWidth) {
+        makeLayout(excludeHorizontalPadding(availableWidth));
+    }
+
+    /**
+     * With auto-size enabled, picks the text size for the given max host width (padding
+     * included). If the size or the text changed since the last fit, drops the text layout,
+     * so the host lays the label out again with {@link #makeInitialLayout}.
+     */
+    void fitTextSize(int maxWidth) {
+        if (textAutoSizer == null || state != LoadonState.NORMAL) {
+            return;
+        }
+        final float fittingTextSize = textAutoSizer.getFittingTextSize(
+                textPaint,
+                text,
+                excludeHorizontalPadding(maxWidth)
+        );
+        if (fittingTextSize == textSize && text.equals(fittedText)) {
+            return;
+        }
+        textSize = fittingTextSize;
+        fittedText = text;
+        textPaint.setTextSize(fittingTextSize);
+        remeasureText();
+    }
+
+    /**
+     * Re-lays out the label for the given width (padding included), scaling its size and alpha
+     * according to the collapse progress when not in the normal state.
+     */
+    void onWidthChanged(int width) {
+        if (state != LoadonState.NORMAL) {
+            CollapseGeometry.compute(width, getCollapsedWidth(), getExpandedWidth(), textSize, alpha, collapseFrame);
+            textPaint.setAlpha(collapseFrame.textAlpha);
+            textPaint.setTextSize(collapseFrame.textSize);
+        } else {
+            textPaint.setTextSize(textSize);
+            textPaint.setAlpha(alpha);
+        }
+        makeLayout(excludeHorizontalPadding(width));
+    }
+
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (textLayout == null) {
+            if (getBounds().isEmpty()) {
+                // Nothing to draw in, and a layout made for zero width would stick
+                return;
+            }
+            makeInitialLayout(getBounds().width());
+        }
+        updateContentRect();
+
+        if (shapeFillCornerSize != null) {
+            final float cornerRadius = getShapeFillCornerRadius(shapeFillCornerSize);
+            canvas.drawRoundRect(contentRect, cornerRadius, cornerRadius, shapeFillPaint);
+        } else if (background != null) {
+            updateBackgroundBounds(background);
+            background.draw(canvas);
+        }
+
+        if (!state.isIndicationState()) {
+            canvas.save();
+            final float translationX = contentRect.left + (contentRect.width() - textLayout.getWidth()) / 2f;
+            final float translationY = contentRect.top + (contentRect.height() - textLayout.getHeight()) / 2f;
+            canvas.translate(translationX, translationY);
+            textLayout.draw(canvas);
+            canvas.restore();
+        } else {
+            getDrawingRect(indicatorRect);
+            indicator.draw(canvas, indicatorRect, state);
+        }
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        if (this.alpha != alpha) {
+            this.alpha = alpha;
+            textPaint.setAlpha(alpha);
+            updateShapeFillColor(getState());
+            if (background != null) {
+                background.setAlpha(alpha);
+            }
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        textPaint.setColorFilter(colorFilter);
+        shapeFillPaint.setColorFilter(colorFilter);
+        if (background != null) {
+            background.setColorFilter(colorFilter);
+        }
+        invalidateSelf();
+    }
+
+    /**
+     * Outlines the filled shape with its current width and corners, or the background.
+     */
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        updateContentRect();
+        if (shapeFillCornerSize != null) {
+            outline.setRoundRect(
+                    Math.round(contentRect.left),
+                    Math.round(contentRect.top),
+                    Math.round(contentRect.right),
+                    Math.round(contentRect.bottom),
+                    getShapeFillCornerRadius(shapeFillCornerSize)
+            );
+            outline.setAlpha(Color.alpha(shapeFillPaint.getColor()) / 255f);
+        } else if (background != null) {
+            updateBackgroundBounds(background);
+            background.getOutline(outline);
+        } else {
+            super.getOutline(outline);
+        }
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Lays the label out anew when the bounds width changes in the normal state, so
+     * a drawable used on its own follows its bounds. Hosts measuring the label with
+     * {@link #makeInitialLayout} set bounds it's already laid out for, which is a no-op.
+     */
+    @Override
+    protected void onBoundsChange(@NonNull Rect bounds) {
+        super.onBoundsChange(bounds);
+        if (state != LoadonState.NORMAL || bounds.isEmpty()) {
+            return;
+        }
+        final int layoutBoundsWidth = this.layoutBoundsWidth;
+        this.layoutBoundsWidth = bounds.width();
+        if (textLayout != null
+                && (bounds.width() == layoutBoundsWidth
+                || textLayout.getWidth() == excludeHorizontalPadding(bounds.width()))) {
+            return;
+        }
+        textPaint.setTextSize(textSize);
+        remeasureText();
+        makeInitialLayout(Math.min(getExpandedWidth(), bounds.width()));
+        updateStateMachineWidths();
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return getExpandedWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return getDesiredHeight();
+    }
+
+    @Override
+    public boolean isStateful() {
+        return (background != null && background.isStateful())
+                || (shapeFillColor != null && shapeFillColor.isStateful());
+    }
+
+    @Override
+    protected boolean onStateChange(int[] state) {
+        final boolean isFillChanged = updateShapeFillColor(state);
+        final boolean isBackgroundChanged = background != null && background.setState(state);
+        return isFillChanged || isBackgroundChanged;
+    }
+
+    @Override
+    public void jumpToCurrentState() {
+        if (background != null) {
+            background.jumpToCurrentState();
+        }
+    }
+
+
+    /**
+     * While invalidating after a frame, returns only the area changed in the frame.
+     */
+    @NonNull
+    @Override
+    public Rect getDirtyBounds() {
+        return isFlushingDirtyBounds ? dirtyBounds : getBounds();
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable who) {
+        invalidateDirty(who.getDirtyBounds());
+    }
+
+    @Override
+    public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+        scheduleSelf(what, when);
+    }
+
+    @Override
+    public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+        unscheduleSelf(what);
+    }
+
+
+    /**
+     * Fills the rect where the label or indicator is drawn, i.e. the content rect without padding.
+     */
+    void getDrawingRect(@NonNull RectF rectF) {
+        updateContentRect();
+        rectF.set(
+                contentRect.left + padding.left,
+                contentRect.top + padding.top,
+                contentRect.right - padding.right,
+                contentRect.bottom - padding.bottom
+        );
+    }
+
+    int getTextLayoutBuildCount() {
+        return textLayoutBuildCount;
+    }
+
+    /**
+     * @return width of the content rect the current state is drawn in
+     */
+    int getDrawnWidth() {
+        updateContentRect();
+        return Math.round(contentRect.width());
+    }
+
+    long getSizeAnimationPlayTime() {
+        return stateMachine.getSizeAnimationPlayTime();
+    }
+
+    long getStateTime() {
+        return stateMachine.getStateTime();
+    }
+
+    void restoreState(@NonNull LoadonState state, long sizeAnimationPlayTime, long stateTime) {
+        updateStateMachineWidths();
+        stateMachine.restore(state, sizeAnimationPlayTime, stateTime);
+        this.state = state;
+        currentAnimatedWidth = stateMachine.getAnimatedWidth();
+        if (state.isIndicationState()) {
+            indicator.update(state, stateTime);
+        }
+    }
+
+
+    private void onTransition(@NonNull LoadonState to) {
+        state = to;
+        if (to != LoadonState.NORMAL) {
+            updateAnimatedWidth();
+        }
+        if (to.isIndicationState()) {
+            // The indicator is ready to draw the new state before its first frame
+            indicator.update(to, 0L);
+        }
+        if (to == LoadonState.NORMAL) {
+            if (isTextRemeasurePending) {
+                isTextRemeasurePending = false;
+                textPaint.setTextSize(textSize);
+                remeasureText();
+            }
+            currentAnimatedWidth = getExpandedWidth();
+            onWidthChanged(currentAnimatedWidth);
+            notifySizeChanged();
+        }
+        if (onStateChangeListener != null) {
+            onStateChangeListener.onStateChanged(this);
+        }
+        invalidateDirty(null);
+    }
+
+    private boolean onStateMachineFrame() {
+        updateStateMachineWidths();
+        if (state != LoadonState.NORMAL) {
+            updateAnimatedWidth();
+        }
+        boolean isIndicatorAnimating = false;
+        if (state.isIndicationState()) {
+            isIndicatorAnimating = indicator.update(state, stateMachine.getStateTime());
+            getDrawingRect(indicatorRect);
+            indicator.getDirtyBounds(indicatorRect, indicatorDirtyBounds);
+            invalidateDirty(indicatorDirtyBounds);
+        }
+        // Last step of the frame, so all the frame's requests are in
+        flushDirtyBounds();
+        if (onFrameListener != null) {
+            onFrameListener.onFrame(this);
+        }
+        return isIndicatorAnimating;
+    }
+
+    private void updateAnimatedWidth() {
+        final int animatedWidth = stateMachine.getAnimatedWidth();
+        if (animatedWidth != currentAnimatedWidth) {
+            currentAnimatedWidth = animatedWidth;
+            onWidthChanged(animatedWidth);
+            notifySizeChanged();
+            invalidateDirty(null);
+        }
+    }
+
+    /**
+     * Adds the area to the pending invalidation. Requests made during a frame, or while
+     * the next frame is already scheduled, are merged and applied once at the end of the frame.
+     *
+     * @param dirty changed area in drawable coordinates, or null for the whole bounds
+     */
+    private void invalidateDirty(@Nullable Rect dirty) {
+        if (dirty == null) {
+            dirtyBounds.set(getBounds());
+        } else {
+            dirtyBounds.union(dirty);
+        }
+        if (!stateMachine.isInFrame() && !stateMachine.isAnimating()) {
+            flushDirtyBounds();
+        }
+    }
+
+    private void flushDirtyBounds() {
+        if (dirtyBounds.isEmpty()) {
+            return;
+        }
+        isFlushingDirtyBounds = true;
+        invalidateSelf();
+        isFlushingDirtyBounds = false;
+        dirtyBounds.setEmpty();
+    }
+
+    private void updateStateMachineWidths() {
+        stateMachine.setWidths(getCollapsedWidth(), getExpandedWidth());
+    }
+
+    /**
+     * @return whether the fill color changed
+     */
+    private boolean updateShapeFillColor(@NonNull int[] state) {
+        final int color = shapeFillColor != null
+                ? shapeFillColor.getColorForState(state, shapeFillColor.getDefaultColor())
+                : Color.BLACK;
+        final int fillColor = (color & 0x00FFFFFF) | ((Color.alpha(color) * alpha / 255) << 24);
+        if (shapeFillPaint.getColor() == fillColor) {
+            return false;
+        }
+        shapeFillPaint.setColor(fillColor);
+        return true;
+    }
+
+    private void notifySizeChanged() {
+        if (onSizeChangeListener != null) {
+            onSizeChangeListener.onAnimatedWidthChanged(this);
+        }
+    }
+
+    private float getShapeFillCornerRadius(@NonNull CornerSize cornerSize) {
+        return CollapseGeometry.getCornerRadius(
+                cornerSize.getCornerSize(contentRect),
+                contentRect.width(),
+                contentRect.height(),
+                getCollapseProgress()
+        );
+    }
+
+    private void updateBackgroundBounds(@NonNull Drawable background) {
+        background.setBounds(
+                (int) contentRect.left,
+                (int) contentRect.top,
+                (int) contentRect.right,
+                (int) contentRect.bottom
+        );
+    }
+
+    private void updateContentRect() {
+        final Rect bounds = getBounds();
+        final int width = state == LoadonState.NORMAL
+                ? bounds.width()
+                : Math.min(currentAnimatedWidth, bounds.width());
+        final float left = bounds.left + (bounds.width() - width) / 2f;
+        contentRect.set(left, bounds.top, left + width, bounds.bottom);
+    }
+
+    /**
+     * Accepts what the attrs may declare: a {@link LoadonIndicator} is used as is,
+     * a {@link Loadon.ProgressIndicator} goes through {@link ProgressIndicatorAdapter}.
+     */
+    @NonNull
+    private LoadonIndicator wrapIndicator(@NonNull Object indicator) {
+        if (indicator instanceof LoadonIndicator) {
+            return (LoadonIndicator) indicator;
+        }
+        final Loadon.ProgressIndicator progressIndicator = (Loadon.ProgressIndicator) indicator;
+        progressIndicator.setDrawingListener(this::invalidateDirty);
+        return new ProgressIndicatorAdapter(progressIndicator, this);
+    }
+
+    /**
+     * Measures the label in one line with the current paint (which must have the normal
+     * state text size) and drops its layout, so the host lays it out anew.
+     */
+    private void remeasureText() {
+        textWidth = (int) Math.ceil(textPaint.measureText(text));
+        textLayout = null;
+    }
+
+    private int excludeHorizontalPadding(int paddedWidth) {
+        return Math.max(0, paddedWidth - padding.left - padding.right);
+    }
+
+    private void applyTextChanges(boolean reMeasure) {
+        makeLayout(excludeHorizontalPadding(getBounds().width()));
+        invalidateSelf();
+        if (reMeasure) {
+            notifySizeChanged();
+        }
+    }
+
+    private void makeLayout(int availableWidth) {
+        textLayoutBuildCount++;
+        final boolean isFirstMake = textLayout == null;
+        textLayout = new StaticLayout(
+                text,
+                textPaint,
+                availableWidth,
+                Layout.Alignment.ALIGN_CENTER,
+                1f, 0, false);
+        // We firstly get availableWidth (host width from measure), so finally set textWidth & textHeight
+        if (isFirstMake) {
+            textWidth = textLayout.getWidth();
+            textHeight = textLayout.getHeight();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+
+import com.alexyuzefovich.loadon.core.LoadonState;
+
+/**
+ * Time-driven indicator drawn by Loadon instead of the label in the indication states
+ * ({@link LoadonState#LOADING}, {@link LoadonState#SUCCEED} and {@link LoadonState#FAILED}).
+ * <p>
+ * The indicator owns no animators or clocks: the host passes the state and the time spent
+ * in it to {@link #update}, then calls {@link #draw}. The picture must depend only on these
+ * arguments, so hosts are free to throttle, pause, step or batch frames of many indicators,
+ * e.g. with a {@link com.alexyuzefovich.loadon.core.ManualFrameClock}.
+ * <p>
+ * Can be set with {@link Loadon#setIndicator} or declared with {@code app:progressIndicator};
+ * in the latter case the class needs a public no-arg constructor or one taking
+ * (Context, AttributeSet, int, int).
+ */
+public interface LoadonIndicator {
+
+    /**
+     * Updates the indicator to the given moment.
+     *
+     * @param state current indication state
+     * @param stateTime time in ms since the state was entered; starts from 0 on every entry
+     * @return whether the indicator still changes over time in this state, so the host
+     * should keep sending frames
+     */
+    boolean update(@NonNull LoadonState state, long stateTime);
+
+    /**
+     * Draws the indicator as of the last {@link #update}.
+     *
+     * @param drawingRect area available for the indicator, in canvas coordinates
+     */
+    void draw(@NonNull Canvas canvas, @NonNull RectF drawingRect, @NonNull LoadonState state);
+
+    /**
+     * Reports the area changed by the last {@link #update}. Defaults to the whole drawing rect.
+     */
+    default void getDirtyBounds(@NonNull RectF drawingRect, @NonNull Rect outDirtyBounds) {
+        drawingRect.roundOut(outDirtyBounds);
+    }
+
+    /**
+     * Drops what the indicator keeps only to draw faster, e.g. recorded display lists.
+     * Called when the host view is detached or the indicator is replaced, not on state
+     * changes, so caches survive repeated loading sessions; the next {@link #draw} may
+     * build them again. Does nothing by default.
+     */
+    default void releaseDrawingCaches() { }
+
+}
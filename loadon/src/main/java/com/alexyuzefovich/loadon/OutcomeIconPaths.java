@@ -0,0 +1,111 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Success (check mark) and failure (cross) icon paths for one size bucket.
+ * Paths are centered at (0, 0), built once per bucket and shared by all indicators.
+ */
+final class OutcomeIconPaths {
+
+    /**
+     * Icon sizes are rounded to this step, so close sizes share the same paths.
+     */
+    private static final int SIZE_BUCKET = 8;
+
+    private static final SparseArray<OutcomeIconPaths> CACHE = new SparseArray<>();
+
+    @NonNull
+    final Path successPath = new Path();
+
+    @NonNull
+    final Path failurePath = new Path();
+
+    final float successLength;
+
+    final float failureLength;
+
+
+    private OutcomeIconPaths(int size) {
+        final float r = size / 2f;
+
+        successPath.moveTo(-0.45f * r, 0f);
+        successPath.lineTo(-0.1f * r, 0.35f * r);
+        successPath.lineTo(0.45f * r, -0.3f * r);
+
+        failurePath.moveTo(-0.35f * r, -0.35f * r);
+        failurePath.lineTo(0.35f * r, 0.35f * r);
+        failurePath.moveTo(0.35f * r, -0.35f * r);
+        failurePath.lineTo(-0.35f * r, 0.35f * r);
+
+        final PathMeasure pathMeasure = new PathMeasure();
+        successLength = measure(pathMeasure, successPath);
+        failureLength = measure(pathMeasure, failurePath);
+    }
+
+
+    /**
+     * Must be called from the main thread.
+     */
+    @NonNull
+    static OutcomeIconPaths get(int size) {
+        final int bucket = Math.max(SIZE_BUCKET, Math.round(size / (float) SIZE_BUCKET) * SIZE_BUCKET);
+        OutcomeIconPaths paths = CACHE.get(bucket);
+        if (paths == null) {
+            paths = new OutcomeIconPaths(bucket);
+            CACHE.put(bucket, paths);
+        }
+        return paths;
+    }
+
+    /**
+     * Draws the first {@code progress} part of {@code path} (all contours together) centered
+     * at (cx, cy). {@code pathMeasure} and {@code segmentPath} are caller-owned and reused,
+     * so drawing allocates nothing.
+     */
+    static void drawTrimmed(
+            @NonNull Canvas canvas,
+            @NonNull Path path,
+            float pathLength,
+            float progress,
+            float cx,
+            float cy,
+            @NonNull PathMeasure pathMeasure,
+            @NonNull Path segmentPath,
+            @NonNull Paint paint
+    ) {
+        segmentPath.rewind();
+        float remainingLength = pathLength * Math.max(0f, Math.min(1f, progress));
+        pathMeasure.setPath(path, false);
+        do {
+            if (remainingLength <= 0f) {
+                break;
+            }
+            final float contourLength = pathMeasure.getLength();
+            pathMeasure.getSegment(0f, Math.min(contourLength, remainingLength), segmentPath, true);
+            remainingLength -= contourLength;
+        } while (pathMeasure.nextContour());
+
+        canvas.save();
+        canvas.translate(cx, cy);
+        canvas.drawPath(segmentPath, paint);
+        canvas.restore();
+    }
+
+
+    private static float measure(@NonNull PathMeasure pathMeasure, @NonNull Path path) {
+        float length = 0f;
+        pathMeasure.setPath(path, false);
+        do {
+            length += pathMeasure.getLength();
+        } while (pathMeasure.nextContour());
+        return length;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.alexyuzefovich.loadon.core.LoadonState;
+
+/**
+ * Runs a {@link Loadon.ProgressIndicator} through the {@link LoadonIndicator} contract:
+ * state entries become {@code onSuccess}/{@code onFailure} calls, updates are forwarded
+ * to {@code onFrame} (which steps the indicator's animator, if it has one), and drawing
+ * is done against the hosting drawable, as the abstract class expects.
+ */
+final class ProgressIndicatorAdapter implements LoadonIndicator {
+
+    @NonNull
+    private final Loadon.ProgressIndicator progressIndicator;
+
+    @NonNull
+    private final LoadonDrawable loadonDrawable;
+
+    @Nullable
+    private LoadonState lastState;
+
+    private long lastStateTime;
+
+
+    ProgressIndicatorAdapter(
+            @NonNull Loadon.ProgressIndicator progressIndicator,
+            @NonNull LoadonDrawable loadonDrawable
+    ) {
+        this.progressIndicator = progressIndicator;
+        this.loadonDrawable = loadonDrawable;
+    }
+
+
+    @NonNull
+    Loadon.ProgressIndicator getProgressIndicator() {
+        return progressIndicator;
+    }
+
+    @Override
+    public boolean update(@NonNull LoadonState state, long stateTime) {
+        // State time going back means the state was entered again
+        if (state != lastState || stateTime < lastStateTime) {
+            if (state == LoadonState.SUCCEED) {
+                progressIndicator.onSuccess();
+            } else if (state == LoadonState.FAILED) {
+                progressIndicator.onFailure();
+            }
+        }
+        lastState = state;
+        lastStateTime = stateTime;
+        return progressIndicator.onFrame(state, stateTime);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas, @NonNull RectF drawingRect, @NonNull LoadonState state) {
+        progressIndicator.draw(loadonDrawable, canvas);
+    }
+
+    @Override
+    public void getDirtyBounds(@NonNull RectF drawingRect, @NonNull Rect outDirtyBounds) {
+        progressIndicator.getFrameDirtyBounds(loadonDrawable, outDirtyBounds);
+    }
+
+    @Override
+    public void releaseDrawingCaches() {
+        progressIndicator.releaseDrawingCaches();
+    }
+
+}
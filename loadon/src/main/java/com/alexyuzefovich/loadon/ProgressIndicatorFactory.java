@@ -0,0 +1,151 @@
+package com.alexyuzefovich.loadon;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates progress indicators ({@link LoadonIndicator}s or {@link Loadon.ProgressIndicator}s)
+ * declared by class name in attrs. Class lookup and constructor resolution are done once per
+ * class name and shared by all Loadons; the cache is thread-safe, so indicators may be created
+ * during asynchronous inflation.
+ */
+final class ProgressIndicatorFactory {
+
+    private static final Class<?>[] CONSTRUCTOR_SIGNATURE =
+            new Class<?>[]{Context.class, AttributeSet.class, int.class, int.class};
+
+    private static final Map<String, Constructor<?>> CONSTRUCTORS =
+            new ConcurrentHashMap<>();
+
+
+    private ProgressIndicatorFactory() { }
+
+
+    /**
+     * @return a {@link LoadonIndicator} or a {@link Loadon.ProgressIndicator},
+     * or null if no class name is given
+     */
+    @Nullable
+    static Object create(
+            @NonNull Context context,
+            @Nullable String className,
+            @Nullable AttributeSet attrs,
+            int defStyleAttr,
+            int defStyleRes,
+            @NonNull ClassLoader classLoader
+    ) {
+        final String positionDescription = attrs != null ? attrs.getPositionDescription() : "Loadon";
+        final Constructor<?> constructor =
+                resolve(context, className, classLoader, positionDescription);
+        if (constructor == null) {
+            return null;
+        }
+        final Object[] constructorArgs = constructor.getParameterTypes().length > 0
+                ? new Object[]{context, attrs, defStyleAttr, defStyleRes}
+                : null;
+        try {
+            return constructor.newInstance(constructorArgs);
+        } catch (InvocationTargetException | InstantiationException e) {
+            throw new IllegalStateException(positionDescription
+                    + ": Could not instantiate the ProgressIndicator: " + constructor.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(positionDescription
+                    + ": Cannot access non-public constructor " + constructor.getName(), e);
+        }
+    }
+
+    /**
+     * Loads the class and looks up the constructor of the given indicator, so the first
+     * {@link #create} for it doesn't pay for reflection.
+     */
+    static void prewarm(
+            @NonNull Context context,
+            @Nullable String className,
+            @NonNull ClassLoader classLoader
+    ) {
+        resolve(context, className, classLoader, "Loadon");
+    }
+
+
+    @Nullable
+    private static Constructor<?> resolve(
+            @NonNull Context context,
+            @Nullable String className,
+            @NonNull ClassLoader classLoader,
+            @NonNull String positionDescription
+    ) {
+        if (className == null || className.trim().isEmpty()) {
+            return null;
+        }
+        className = getFullClassName(context, className.trim());
+        if (className.isEmpty()) {
+            return null;
+        }
+        Constructor<?> constructor = CONSTRUCTORS.get(className);
+        if (constructor == null) {
+            constructor = findConstructor(className, classLoader, positionDescription);
+            CONSTRUCTORS.put(className, constructor);
+        }
+        return constructor;
+    }
+
+    @NonNull
+    private static Constructor<?> findConstructor(
+            @NonNull String className,
+            @NonNull ClassLoader classLoader,
+            @NonNull String positionDescription
+    ) {
+        try {
+            final Class<?> progressIndicatorClass = Class.forName(className, false, classLoader);
+            if (!LoadonIndicator.class.isAssignableFrom(progressIndicatorClass)
+                    && !Loadon.ProgressIndicator.class.isAssignableFrom(progressIndicatorClass)) {
+                throw new ClassCastException(progressIndicatorClass + " is neither a LoadonIndicator"
+                        + " nor a Loadon.ProgressIndicator");
+            }
+            Constructor<?> constructor;
+            try {
+                constructor = progressIndicatorClass.getConstructor(CONSTRUCTOR_SIGNATURE);
+            } catch (NoSuchMethodException e) {
+                try {
+                    constructor = progressIndicatorClass.getConstructor();
+                } catch (NoSuchMethodException e1) {
+                    e1.initCause(e);
+                    throw new IllegalStateException(positionDescription
+                            + ": Error creating ProgressIndicator " + className, e1);
+                }
+            }
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(positionDescription
+                    + ": Unable to find ProgressIndicator " + className, e);
+        } catch (ClassCastException e) {
+            throw new IllegalStateException(positionDescription
+                    + ": Class is not a ProgressIndicator " + className, e);
+        }
+    }
+
+    @NonNull
+    private static String getFullClassName(
+            @NonNull Context context,
+            @NonNull String className
+    ) {
+        if (className.charAt(0) == '.') {
+            return context.getPackageName() + className;
+        }
+        if (className.contains(".")) {
+            return className;
+        }
+        final Package loadonPackage = Loadon.class.getPackage();
+        return loadonPackage != null ? loadonPackage.getName() + '.' + className : "";
+    }
+
+}
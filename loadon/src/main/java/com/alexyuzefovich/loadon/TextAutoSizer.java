@@ -0,0 +1,159 @@
+package com.alexyuzefovich.loadon;
+
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Finds the largest text size, from min to max by step (like TextView uniform autosize),
+ * at which a label fits the available width in one line. The size is found by binary search
+ * over the steps, and results are cached per (text, width, paint style, configuration)
+ * in a cache shared by all Loadons, so re-measures and list rebinds don't search again.
+ */
+final class TextAutoSizer {
+
+    private static final int CACHE_SIZE = 512;
+
+    private static final LruCache<Key, Float> CACHE = new LruCache<>(CACHE_SIZE);
+
+    private final float minTextSize;
+    private final float maxTextSize;
+    private final float stepGranularity;
+
+    @NonNull
+    private final TextPaint measurePaint = new TextPaint();
+
+    /**
+     * Reused for lookups, so cache hits allocate nothing.
+     */
+    @NonNull
+    private final Key lookupKey = new Key();
+
+
+    TextAutoSizer(float minTextSize, float maxTextSize, float stepGranularity) {
+        if (minTextSize <= 0f || maxTextSize < minTextSize || stepGranularity <= 0f) {
+            throw new IllegalArgumentException("Invalid auto-size configuration: min " + minTextSize
+                    + ", max " + maxTextSize + ", step " + stepGranularity);
+        }
+        this.minTextSize = minTextSize;
+        this.maxTextSize = maxTextSize;
+        this.stepGranularity = stepGranularity;
+    }
+
+
+    /**
+     * @param paint paint with the label style; its text size is ignored
+     * @param availableWidth width for the label, without padding
+     * @return the largest fitting size, or the min size if none fits
+     */
+    float getFittingTextSize(@NonNull TextPaint paint, @NonNull String text, int availableWidth) {
+        lookupKey.set(text, availableWidth, paint, this);
+        final Float cachedTextSize = CACHE.get(lookupKey);
+        if (cachedTextSize != null) {
+            return cachedTextSize;
+        }
+        final float textSize = findFittingTextSize(paint, text, availableWidth);
+        CACHE.put(new Key().set(text, availableWidth, paint, this), textSize);
+        return textSize;
+    }
+
+
+    private float findFittingTextSize(@NonNull TextPaint paint, @NonNull String text, int availableWidth) {
+        measurePaint.set(paint);
+        int low = 0;
+        int high = (int) ((maxTextSize - minTextSize) / stepGranularity);
+        int best = 0;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (fits(text, getStepTextSize(middle), availableWidth)) {
+                best = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return getStepTextSize(best);
+    }
+
+    private float getStepTextSize(int step) {
+        return Math.min(maxTextSize, minTextSize + step * stepGranularity);
+    }
+
+    private boolean fits(@NonNull String text, float textSize, int availableWidth) {
+        measurePaint.setTextSize(textSize);
+        return measurePaint.measureText(text) <= availableWidth;
+    }
+
+
+    private static final class Key {
+
+        private String text;
+        private int availableWidth;
+        @Nullable
+        private Typeface typeface;
+        private float letterSpacing;
+        private float textScaleX;
+        private int flags;
+        private float minTextSize;
+        private float maxTextSize;
+        private float stepGranularity;
+
+        @NonNull
+        Key set(
+                @NonNull String text,
+                int availableWidth,
+                @NonNull TextPaint paint,
+                @NonNull TextAutoSizer autoSizer
+        ) {
+            this.text = text;
+            this.availableWidth = availableWidth;
+            typeface = paint.getTypeface();
+            letterSpacing = paint.getLetterSpacing();
+            textScaleX = paint.getTextScaleX();
+            flags = paint.getFlags();
+            minTextSize = autoSizer.minTextSize;
+            maxTextSize = autoSizer.maxTextSize;
+            stepGranularity = autoSizer.stepGranularity;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return availableWidth == key.availableWidth
+                    && Float.compare(key.letterSpacing, letterSpacing) == 0
+                    && Float.compare(key.textScaleX, textScaleX) == 0
+                    && flags == key.flags
+                    && Float.compare(key.minTextSize, minTextSize) == 0
+                    && Float.compare(key.maxTextSize, maxTextSize) == 0
+                    && Float.compare(key.stepGranularity, stepGranularity) == 0
+                    && text.equals(key.text)
+                    && (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + availableWidth;
+            result = 31 * result + (typeface != null ? typeface.hashCode() : 0);
+            result = 31 * result + Float.floatToIntBits(letterSpacing);
+            result = 31 * result + Float.floatToIntBits(textScaleX);
+            result = 31 * result + flags;
+            result = 31 * result + Float.floatToIntBits(minTextSize);
+            result = 31 * result + Float.floatToIntBits(maxTextSize);
+            result = 31 * result + Float.floatToIntBits(stepGranularity);
+            return result;
+        }
+
+    }
+
+}